@@ -0,0 +1,106 @@
+package com.sahana.horizontalcalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Position → date mapping as done during bind: the original {@code Calendar.clone()+add}
+ * against epoch days mapped through a {@link CalendarChronology}, both the arithmetic
+ * Gregorian one and the table-driven Hijri one. Each invocation maps one screen-sized run
+ * of positions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateMappingBenchmark {
+
+    /** Positions mapped per invocation, roughly one screen of cells. */
+    static final int CELLS = 16;
+
+    private Calendar baseDate;
+    private long baseEpochDay;
+    private int startPosition;
+
+    /** First position of the run; moved every invocation so month/year changes are covered. */
+    private int position;
+
+    @Setup
+    public void setUp() {
+        baseDate = Calendar.getInstance();
+        baseDate.set(2025, Calendar.MAY, 5, 0, 0, 0);
+        baseDate.set(Calendar.MILLISECOND, 0);
+        baseEpochDay = EpochDays.fromCalendar(baseDate);
+        startPosition = 180;
+    }
+
+    private int nextRun() {
+        position = (position + CELLS) % 361;
+        return position;
+    }
+
+    /** Original bind path: clone the base date and move it by the offset. */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void calendarCloneAdd(Blackhole blackhole) {
+        int first = nextRun();
+        for (int i = 0; i < CELLS; i++) {
+            Calendar calendar = (Calendar) baseDate.clone();
+            calendar.add(Calendar.DAY_OF_YEAR, first + i - startPosition);
+            blackhole.consume(calendar.get(Calendar.DAY_OF_WEEK));
+            blackhole.consume(calendar.get(Calendar.DAY_OF_MONTH));
+        }
+    }
+
+    /** Current bind path: {@code epochDay = first + position}, then the chronology's day. */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void epochDay(Blackhole blackhole) {
+        mapRun(CalendarChronology.GREGORIAN, blackhole);
+    }
+
+    /** Current bind path with a chronology answered from month tables. */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void epochDayHijri(Blackhole blackhole) {
+        mapRun(CalendarChronology.HIJRI, blackhole);
+    }
+
+    private void mapRun(CalendarChronology chronology, Blackhole blackhole) {
+        int first = nextRun();
+        long firstEpochDay = baseEpochDay - startPosition;
+        for (int i = 0; i < CELLS; i++) {
+            long day = firstEpochDay + first + i;
+            blackhole.consume(EpochDays.dayOfWeek(day));
+            blackhole.consume(chronology.getDayOfMonth(day));
+        }
+    }
+
+    /** Header fields (day, month, year) of the centered position. */
+    @Benchmark
+    public void headerFieldsCalendar(Blackhole blackhole) {
+        Calendar calendar = (Calendar) baseDate.clone();
+        calendar.add(Calendar.DAY_OF_YEAR, nextRun() - startPosition);
+        blackhole.consume(calendar.get(Calendar.DAY_OF_MONTH));
+        blackhole.consume(calendar.get(Calendar.MONTH));
+        blackhole.consume(calendar.get(Calendar.YEAR));
+    }
+
+    /** Header fields (day, month, year) of the centered position from the epoch day. */
+    @Benchmark
+    public void headerFieldsEpochDay(Blackhole blackhole) {
+        long day = baseEpochDay + nextRun() - startPosition;
+        blackhole.consume(EpochDays.dayOfMonth(day));
+        blackhole.consume(EpochDays.month(day));
+        blackhole.consume(EpochDays.year(day));
+    }
+}
@@ -0,0 +1,112 @@
+package com.sahana.horizontalcalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.DateFormatSymbols;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weekday/day-number labels for a run of cells and the header text, built the original way
+ * (new {@link DateFormatSymbols} per bind, {@code String.valueOf}, {@code String.format})
+ * and from the shared {@link LocaleLabelCache} tables.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LabelBenchmark {
+
+    private static final int CELLS = DateMappingBenchmark.CELLS;
+
+    private final CalendarChronology chronology = CalendarChronology.GREGORIAN;
+
+    private long firstEpochDay;
+    private int offset;
+    private final StringBuilder header = new StringBuilder(32);
+
+    @Setup
+    public void setUp() {
+        firstEpochDay = EpochDays.of(2025, Calendar.JANUARY, 1);
+        // Built once per process in the library too
+        LocaleLabelCache.forDefaultLocale(chronology);
+        LocaleLabelCache.forDefaultLocale(CalendarChronology.HIJRI);
+    }
+
+    private long nextDay() {
+        offset = (offset + CELLS) % 365;
+        return firstEpochDay + offset;
+    }
+
+    /** Original bind path: symbols looked up per cell, day number formatted per cell. */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void cellLabelsDateFormatSymbols(Blackhole blackhole) {
+        long first = nextDay();
+        for (int i = 0; i < CELLS; i++) {
+            long day = first + i;
+            DateFormatSymbols symbols = new DateFormatSymbols(Locale.getDefault());
+            blackhole.consume(symbols.getShortWeekdays()[EpochDays.dayOfWeek(day)]);
+            blackhole.consume(String.valueOf(EpochDays.dayOfMonth(day)));
+        }
+    }
+
+    /** Current bind path: the chronology's day and two array lookups in shared tables. */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void cellLabelsCached(Blackhole blackhole) {
+        cellLabels(chronology, blackhole);
+    }
+
+    /** Current bind path with a chronology answered from month tables. */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void cellLabelsCachedHijri(Blackhole blackhole) {
+        cellLabels(CalendarChronology.HIJRI, blackhole);
+    }
+
+    private void cellLabels(CalendarChronology chronology, Blackhole blackhole) {
+        long first = nextDay();
+        LocaleLabelCache.Labels labels = LocaleLabelCache.forDefaultLocale(chronology);
+        for (int i = 0; i < CELLS; i++) {
+            long day = first + i;
+            blackhole.consume(labels.shortWeekdays[EpochDays.dayOfWeek(day)]);
+            blackhole.consume(labels.dayNumbers[chronology.getDayOfMonth(day)]);
+        }
+    }
+
+    /** Original header: month names from new symbols and {@code String.format}. */
+    @Benchmark
+    public String headerStringFormat() {
+        long day = nextDay();
+        String month = new DateFormatSymbols().getMonths()[EpochDays.month(day)];
+        return String.format(Locale.getDefault(), "%d %s %d",
+                EpochDays.dayOfMonth(day), month, EpochDays.year(day));
+    }
+
+    /** Current header: chronology fields and cached tables appended into a reused buffer. */
+    @Benchmark
+    public StringBuilder headerCached() {
+        long day = nextDay();
+        LocaleLabelCache.Labels labels = LocaleLabelCache.forDefaultLocale(chronology);
+        header.setLength(0);
+        header.append(labels.dayNumbers[chronology.getDayOfMonth(day)])
+                .append(' ')
+                .append(labels.months[chronology.getMonth(day)])
+                .append(' ');
+        String eraName = chronology.getEraName(chronology.getEra(day), labels.locale);
+        if (eraName != null) {
+            header.append(eraName).append(' ');
+        }
+        labels.appendNumber(header, chronology.getYearOfEra(day));
+        return header;
+    }
+}
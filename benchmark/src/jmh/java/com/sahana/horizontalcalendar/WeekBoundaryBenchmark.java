@@ -0,0 +1,71 @@
+package com.sahana.horizontalcalendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Week-boundary detection for the attached cells of one frame, as {@code WeekDividerDecoration}
+ * does in {@code onDrawOver}: a new Calendar per child against the precomputed modulo-7 phase.
+ * The decoration itself needs Android graphics classes; the phase helpers it calls in
+ * {@link EpochDays} are measured instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WeekBoundaryBenchmark {
+
+    private static final int CELLS = DateMappingBenchmark.CELLS;
+
+    private Calendar baseDate;
+    private int startPosition;
+    private int boundaryPhase;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        baseDate = Calendar.getInstance();
+        baseDate.set(2025, Calendar.MAY, 5, 0, 0, 0);
+        startPosition = 180;
+
+        // As WeekDividerDecoration with weeks starting on Monday
+        boundaryPhase = EpochDays.weekBoundaryPhase(Calendar.SUNDAY,
+                EpochDays.fromCalendar(baseDate), startPosition);
+    }
+
+    private int nextRun() {
+        position = (position + CELLS) % 361;
+        return position;
+    }
+
+    /** Original decoration: Calendar.getInstance() (today) + add per child. */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void calendarPerChild(Blackhole blackhole) {
+        int first = nextRun();
+        for (int i = 0; i < CELLS; i++) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.add(Calendar.DAY_OF_YEAR, first + i - startPosition);
+            blackhole.consume(calendar.get(Calendar.DAY_OF_WEEK) == Calendar.SUNDAY);
+        }
+    }
+
+    /** Current decoration: {@link EpochDays#isWeekBoundary} with the precomputed phase. */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void modularPhase(Blackhole blackhole) {
+        int first = nextRun();
+        for (int i = 0; i < CELLS; i++) {
+            blackhole.consume(EpochDays.isWeekBoundary(first + i, boundaryPhase));
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.sahana.horizontalcalendar;
+
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Calendar system the calendar shows its days in: maps epoch days to that calendar's
+ * year, month and day of month, and supplies its month names, eras and week start.
+ * <p>
+ * Subclasses only define {@link #monthStart(int, int)}. Fields are answered from month
+ * tables built from it once per block of {@value #BLOCK_DAYS} days and kept for the
+ * blocks in use, so binding a cell or updating the header is an array lookup.
+ * Instances are immutable apart from those tables and may be shared between threads.
+ * Every calendar has 12 months, numbered from 0.
+ */
+public abstract class CalendarChronology {
+
+    /** The proleptic Gregorian calendar; the default. */
+    public static final CalendarChronology GREGORIAN = new Gregorian();
+
+    /** The tabular Islamic (Hijri) calendar, civil epoch, as ICU's {@code islamic-civil}. */
+    public static final CalendarChronology HIJRI = new Hijri();
+
+    /** The Persian (Solar Hijri) calendar with the 33-year leap rule, as ICU's {@code persian}. */
+    public static final CalendarChronology PERSIAN = new Persian();
+
+    /** Gregorian months and days with years counted in Japanese eras from Meiji on. */
+    public static final CalendarChronology JAPANESE = new Japanese();
+
+    /** Number of days covered by one month table. */
+    static final int BLOCK_DAYS = 1 << 12;
+
+    /** Month tables kept per chronology; a few years either side of the visible days. */
+    private static final int MAX_CACHED_TABLES = 8;
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final String id;
+
+    /** Most recently used table; answers repeated lookups without locking. */
+    private volatile MonthTable lastTable;
+
+    /** Tables built so far, least recently used first. */
+    private final Map<Long, MonthTable> tables = new LinkedHashMap<Long, MonthTable>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, MonthTable> eldest) {
+            return size() > MAX_CACHED_TABLES;
+        }
+    };
+
+    /**
+     * @param id unique identifier of the calendar system, e.g. {@code "gregorian"}
+     */
+    protected CalendarChronology(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the identifier of this calendar system.
+     */
+    public final String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the epoch day of the first day of the given month.
+     * Must be defined for every year, increase with the month and give months of 1 to 31 days.
+     *
+     * @param year  year in this calendar
+     * @param month month of the year, 0-based
+     */
+    protected abstract long monthStart(int year, int month);
+
+    /**
+     * Returns the month names for the given locale, or null to use the Gregorian names
+     * of {@link java.text.DateFormatSymbols}.
+     */
+    protected String[] getMonthNames(Locale locale) {
+        return null;
+    }
+
+    /**
+     * Returns the day of week, in {@link Calendar#DAY_OF_WEEK} form, that weeks start on.
+     * By default the caller's choice of Monday or Sunday.
+     *
+     * @param weekStartsOnMonday the calendar's week start setting
+     */
+    public int getFirstDayOfWeek(boolean weekStartsOnMonday) {
+        return weekStartsOnMonday ? Calendar.MONDAY : Calendar.SUNDAY;
+    }
+
+    /**
+     * Returns the era of the given day, or 0 if it is not counted in an era.
+     */
+    public int getEra(long epochDay) {
+        return 0;
+    }
+
+    /**
+     * Returns the name of the given era in the given locale, or null if it has none.
+     */
+    public String getEraName(int era, Locale locale) {
+        return null;
+    }
+
+    /**
+     * Returns the year shown for the given day: the year of its era, if any.
+     */
+    public int getYearOfEra(long epochDay) {
+        return getYear(epochDay);
+    }
+
+    /**
+     * Returns the year of the given day.
+     */
+    public final int getYear(long epochDay) {
+        MonthTable table = table(epochDay);
+        return (int) Math.floorDiv(table.monthAt(epochDay), MONTHS_PER_YEAR);
+    }
+
+    /**
+     * Returns the month of the given day, 0-based.
+     */
+    public final int getMonth(long epochDay) {
+        MonthTable table = table(epochDay);
+        return Math.floorMod(table.monthAt(epochDay), MONTHS_PER_YEAR);
+    }
+
+    /**
+     * Returns the 1-based day of month of the given day.
+     */
+    public final int getDayOfMonth(long epochDay) {
+        return table(epochDay).dayOfMonthAt(epochDay);
+    }
+
+    /**
+     * Returns the epoch day of the given date in this calendar.
+     *
+     * @param year       year
+     * @param month      month of the year, 0-based
+     * @param dayOfMonth day of month, 1-based
+     */
+    public final long epochDayOf(int year, int month, int dayOfMonth) {
+        return monthStart(year, month) + dayOfMonth - 1;
+    }
+
+    /**
+     * Returns the number of days of the given month.
+     *
+     * @param year  year
+     * @param month month of the year, 0-based
+     */
+    public final int getMonthLength(int year, int month) {
+        long prolepticMonth = (long) year * MONTHS_PER_YEAR + month;
+        return (int) (monthStartOf(prolepticMonth + 1) - monthStartOf(prolepticMonth));
+    }
+
+    /**
+     * Returns the day of week, in {@link Calendar#DAY_OF_WEEK} form, that ends a week.
+     */
+    final int getLastDayOfWeek(boolean weekStartsOnMonday) {
+        int first = getFirstDayOfWeek(weekStartsOnMonday);
+        return first == Calendar.SUNDAY ? Calendar.SATURDAY : first - 1;
+    }
+
+    private long monthStartOf(long prolepticMonth) {
+        return monthStart((int) Math.floorDiv(prolepticMonth, MONTHS_PER_YEAR),
+                Math.floorMod(prolepticMonth, MONTHS_PER_YEAR));
+    }
+
+    /**
+     * Returns the month table covering the given day, building it on first use.
+     */
+    private MonthTable table(long epochDay) {
+        long block = Math.floorDiv(epochDay, BLOCK_DAYS);
+        MonthTable last = lastTable;
+        if (last != null && last.block == block) return last;
+        synchronized (tables) {
+            MonthTable table = tables.get(block);
+            if (table == null) {
+                table = buildTable(block);
+                tables.put(block, table);
+            }
+            lastTable = table;
+            return table;
+        }
+    }
+
+    private MonthTable buildTable(long block) {
+        long firstDay = block * BLOCK_DAYS;
+
+        // Estimate the month of the first day from the mean month length, then correct it
+        long origin = monthStartOf(0);
+        double meanMonthLength = (monthStartOf(400L * MONTHS_PER_YEAR) - origin) / (400.0 * MONTHS_PER_YEAR);
+        long month = (long) Math.floor((firstDay - origin) / meanMonthLength);
+        while (monthStartOf(month) > firstDay) month--;
+        while (monthStartOf(month + 1) <= firstDay) month++;
+
+        long firstMonth = month;
+        long[] starts = new long[BLOCK_DAYS / 28 + 2];
+        byte[] offsets = new byte[BLOCK_DAYS];
+        int offset = 0;
+        starts[0] = monthStartOf(month);
+        long nextStart = monthStartOf(month + 1);
+        for (int i = 0; i < BLOCK_DAYS; i++) {
+            if (firstDay + i >= nextStart) {
+                month++;
+                starts[++offset] = nextStart;
+                nextStart = monthStartOf(month + 1);
+            }
+            offsets[i] = (byte) offset;
+        }
+        return new MonthTable(block, firstDay, firstMonth, offsets, starts);
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    /**
+     * Months of one block of days: for each day the index of its month, and for each
+     * month its proleptic number ({@code year * 12 + month}) and first day.
+     */
+    private static final class MonthTable {
+        final long block;
+        final long firstDay;
+        final long firstMonth;
+
+        /** Month index of each day of the block, unsigned. */
+        final byte[] monthOffsets;
+
+        /** First day of each month overlapping the block. */
+        final long[] monthStarts;
+
+        MonthTable(long block, long firstDay, long firstMonth, byte[] monthOffsets, long[] monthStarts) {
+            this.block = block;
+            this.firstDay = firstDay;
+            this.firstMonth = firstMonth;
+            this.monthOffsets = monthOffsets;
+            this.monthStarts = monthStarts;
+        }
+
+        long monthAt(long epochDay) {
+            return firstMonth + (monthOffsets[(int) (epochDay - firstDay)] & 0xFF);
+        }
+
+        int dayOfMonthAt(long epochDay) {
+            int offset = monthOffsets[(int) (epochDay - firstDay)] & 0xFF;
+            return (int) (epochDay - monthStarts[offset]) + 1;
+        }
+    }
+
+    private static class Gregorian extends CalendarChronology {
+
+        Gregorian() {
+            this("gregorian");
+        }
+
+        Gregorian(String id) {
+            super(id);
+        }
+
+        @Override
+        protected long monthStart(int year, int month) {
+            return EpochDays.of(year, month, 1);
+        }
+    }
+
+    private static final class Japanese extends Gregorian {
+
+        /** First day of Meiji, Taishō, Shōwa, Heisei and Reiwa; era n starts at index n - 1. */
+        private static final long[] ERA_STARTS = {
+                EpochDays.of(1868, Calendar.OCTOBER, 23),
+                EpochDays.of(1912, Calendar.JULY, 30),
+                EpochDays.of(1926, Calendar.DECEMBER, 25),
+                EpochDays.of(1989, Calendar.JANUARY, 8),
+                EpochDays.of(2019, Calendar.MAY, 1),
+        };
+
+        private static final String[] ERA_NAMES = {"Meiji", "Taishō", "Shōwa", "Heisei", "Reiwa"};
+        private static final String[] ERA_NAMES_JA = {"明治", "大正", "昭和", "平成", "令和"};
+
+        Japanese() {
+            super("japanese");
+        }
+
+        @Override
+        public int getEra(long epochDay) {
+            int era = ERA_STARTS.length;
+            while (era > 0 && epochDay < ERA_STARTS[era - 1]) era--;
+            return era;
+        }
+
+        @Override
+        public String getEraName(int era, Locale locale) {
+            if (era <= 0 || era > ERA_NAMES.length) return null;
+            return "ja".equals(locale.getLanguage()) ? ERA_NAMES_JA[era - 1] : ERA_NAMES[era - 1];
+        }
+
+        @Override
+        public int getYearOfEra(long epochDay) {
+            int era = getEra(epochDay);
+            int year = getYear(epochDay);
+            return era == 0 ? year : year - EpochDays.year(ERA_STARTS[era - 1]) + 1;
+        }
+    }
+
+    private static final class Hijri extends CalendarChronology {
+
+        /** Epoch day of 1 Muharram 1 AH, 16 July 622 in the Julian calendar. */
+        private static final long EPOCH = -492148;
+
+        private static final String[] MONTH_NAMES = {
+                "Muharram", "Safar", "Rabiʻ I", "Rabiʻ II", "Jumada I", "Jumada II",
+                "Rajab", "Shaʻban", "Ramadan", "Shawwal", "Dhuʻl-Qiʻdah", "Dhuʻl-Hijjah"
+        };
+        private static final String[] MONTH_NAMES_AR = {
+                "محرم", "صفر", "ربيع الأول", "ربيع الآخر", "جمادى الأولى", "جمادى الآخرة",
+                "رجب", "شعبان", "رمضان", "شوال", "ذو القعدة", "ذو الحجة"
+        };
+
+        Hijri() {
+            super("islamic-civil");
+        }
+
+        /**
+         * Months alternate between 30 and 29 days; 11 of every 30 years are leap years
+         * with a 30-day last month.
+         */
+        @Override
+        protected long monthStart(int year, int month) {
+            return EPOCH + 354L * (year - 1) + Math.floorDiv(3 + 11L * year, 30) + (59 * month + 1) / 2;
+        }
+
+        @Override
+        protected String[] getMonthNames(Locale locale) {
+            return "ar".equals(locale.getLanguage()) ? MONTH_NAMES_AR : MONTH_NAMES;
+        }
+
+        @Override
+        public int getFirstDayOfWeek(boolean weekStartsOnMonday) {
+            return Calendar.SATURDAY;
+        }
+    }
+
+    private static final class Persian extends CalendarChronology {
+
+        /** Epoch day of 1 Farvardin 1 AP, 19 March 622 in the Julian calendar. */
+        private static final long EPOCH = -492268;
+
+        private static final String[] MONTH_NAMES = {
+                "Farvardin", "Ordibehesht", "Khordad", "Tir", "Mordad", "Shahrivar",
+                "Mehr", "Aban", "Azar", "Dey", "Bahman", "Esfand"
+        };
+        private static final String[] MONTH_NAMES_FA = {
+                "فروردین", "اردیبهشت", "خرداد", "تیر", "مرداد", "شهریور",
+                "مهر", "آبان", "آذر", "دی", "بهمن", "اسفند"
+        };
+
+        Persian() {
+            super("persian");
+        }
+
+        /**
+         * The first six months have 31 days, the next five 30 and the last 29, or 30 in
+         * the 8 leap years of every 33.
+         */
+        @Override
+        protected long monthStart(int year, int month) {
+            return EPOCH + 365L * (year - 1) + Math.floorDiv(8L * year + 21, 33)
+                    + (month < 6 ? 31 * month : 30 * month + 6);
+        }
+
+        @Override
+        protected String[] getMonthNames(Locale locale) {
+            return "fa".equals(locale.getLanguage()) ? MONTH_NAMES_FA : MONTH_NAMES;
+        }
+
+        @Override
+        public int getFirstDayOfWeek(boolean weekStartsOnMonday) {
+            return Calendar.SATURDAY;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sahana.horizontalcalendar;
+
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Named trace sections around the calendar's hot paths, visible in Perfetto and systrace.
+ * <p>
+ * Off by default and switched with {@link HorizontalCalendar#setTracingEnabled(boolean)}.
+ * While off, a section costs one static field read. Callers keep the value returned by
+ * {@link #beginSection} and pass it to {@link #endSection}, so sections stay balanced even
+ * if tracing is switched while one is open.
+ */
+final class CalendarTrace {
+
+    static final String CREATE_VIEW_HOLDER = "HorizontalCalendar.onCreateViewHolder";
+    static final String BIND_VIEW_HOLDER = "HorizontalCalendar.onBindViewHolder";
+    static final String BIND_PAYLOAD = "HorizontalCalendar.onBindViewHolder(payload)";
+    static final String UPDATE_HEADER = "HorizontalCalendar.updateHeaderOnScroll";
+    static final String UPDATE_CENTER = "HorizontalCalendar.updateCenterPosition";
+    static final String DRAW_WEEK_DIVIDERS = "HorizontalCalendar.WeekDividerDecoration.onDrawOver";
+    static final String DRAW_SELECTION_FRAME = "HorizontalCalendar.SelectionFrameView.onDraw";
+    static final String DRAW_DATE_STRIP = "HorizontalCalendar.DateStripView.onDraw";
+
+    /** Async section spanning a smooth scroll from its start until scrolling is idle. */
+    static final String SMOOTH_SCROLL = "HorizontalCalendar.smoothScroll";
+
+    /** Set from the main thread; sections are only emitted from the main thread. */
+    static boolean enabled;
+
+    /** Last async cookie handed out; cookies only need to be unique among open sections. */
+    private static int lastCookie;
+
+    private CalendarTrace() {
+    }
+
+    /**
+     * Opens a section if tracing is enabled.
+     *
+     * @return whether a section was opened; pass it to {@link #endSection(boolean)}
+     */
+    static boolean beginSection(String name) {
+        if (!enabled) return false;
+        Trace.beginSection(name);
+        return true;
+    }
+
+    /**
+     * Closes the section opened by the matching {@link #beginSection} call.
+     *
+     * @param began the value {@link #beginSection} returned
+     */
+    static void endSection(boolean began) {
+        if (began) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Opens an async section, which may end in a later frame. Async sections need API 29;
+     * on older devices nothing is emitted.
+     *
+     * @return the cookie to pass to {@link #endAsyncSection}, or 0 if no section was opened
+     */
+    static int beginAsyncSection(String name) {
+        if (!enabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) return 0;
+        int cookie = ++lastCookie;
+        if (cookie == 0) {
+            cookie = ++lastCookie;
+        }
+        Trace.beginAsyncSection(name, cookie);
+        return cookie;
+    }
+
+    /**
+     * Closes an async section. Does nothing for cookie 0.
+     */
+    static void endAsyncSection(String name, int cookie) {
+        if (cookie != 0 && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(name, cookie);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sahana.horizontalcalendar;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Day cell holders and prefetch settings that several {@link HorizontalCalendar}s share.
+ * <p>
+ * Screens with many calendars, e.g. one per row of a list, otherwise inflate and keep
+ * a full set of cells per calendar. Create one pool, pass it to
+ * {@link HorizontalCalendar#setViewPool(CalendarViewPool)} of every calendar and cells
+ * scrolled out of, or detached with, one calendar are rebound by the next.
+ * Use from the main thread only.
+ */
+public final class CalendarViewPool {
+
+    /** Prefetch count used when none is given; the same as {@code LinearLayoutManager}'s. */
+    public static final int DEFAULT_PREFETCH_ITEM_COUNT = 2;
+
+    /** Default number of pooled holders, as in {@link RecyclerView.RecycledViewPool}. */
+    private static final int DEFAULT_CAPACITY = 5;
+
+    private final RecyclerView.RecycledViewPool recycledViewPool = new RecyclerView.RecycledViewPool();
+
+    private final int prefetchItemCount;
+
+    /** Current maximum of pooled holders per view type; only ever grows. */
+    private int capacity = DEFAULT_CAPACITY;
+
+    /**
+     * Creates a pool with {@link #DEFAULT_PREFETCH_ITEM_COUNT}.
+     */
+    public CalendarViewPool() {
+        this(DEFAULT_PREFETCH_ITEM_COUNT);
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param prefetchItemCount cells to prefetch when a calendar nested in another scrolling
+     *                          list is about to come into view
+     */
+    public CalendarViewPool(int prefetchItemCount) {
+        if (prefetchItemCount < 0) {
+            throw new IllegalArgumentException("prefetchItemCount < 0: " + prefetchItemCount);
+        }
+        this.prefetchItemCount = prefetchItemCount;
+    }
+
+    /**
+     * Returns the number of cells prefetched for calendars nested in another scrolling list.
+     */
+    public int getPrefetchItemCount() {
+        return prefetchItemCount;
+    }
+
+    /**
+     * Returns the underlying pool, e.g. to share it with other lists of the same cells.
+     */
+    public RecyclerView.RecycledViewPool getRecycledViewPool() {
+        return recycledViewPool;
+    }
+
+    /**
+     * Returns the number of holders of the given view type waiting in the pool.
+     */
+    int getPooledCount(int viewType) {
+        return recycledViewPool.getRecycledViewCount(viewType);
+    }
+
+    /**
+     * Raises the number of holders the pool keeps of the given view type to at least the
+     * given count, and to at least what other view types may keep.
+     */
+    void ensureCapacity(int viewType, int holders) {
+        capacity = Math.max(capacity, holders);
+        recycledViewPool.setMaxRecycledViews(viewType, capacity);
+    }
+
+    /**
+     * Adds a holder created ahead of time.
+     */
+    void put(RecyclerView.ViewHolder holder) {
+        recycledViewPool.putRecycledView(holder);
+    }
+}
@@ -0,0 +1,230 @@
+package com.sahana.horizontalcalendar;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Day cell built in code: draws the weekday, the day number and the marker dots itself.
+ * <p>
+ * Replaces the inflated {@code item_date.xml} (a LinearLayout with two wrapping TextViews
+ * and a {@link DayMarkerView}), so creating a cell parses no XML and measuring it is a
+ * single fixed-size pass. It looks the same by default. Text colors are color state lists
+ * resolved against the selected, activated and enabled state; style the cell through the
+ * {@code dateCellStyle} theme attribute.
+ */
+public class DateCellView extends View {
+
+    /** Default cell size, as in item_date.xml. */
+    private static final int DEFAULT_WIDTH_DP = 48;
+    private static final int DEFAULT_HEIGHT_DP = 70;
+
+    /** Default label style, shared with {@link DateStripView} in canvas mode. */
+    static final int DEFAULT_TEXT_COLOR = 0xFF000000;
+    static final int DEFAULT_WEEKDAY_TEXT_SIZE_SP = 14;
+    static final int DEFAULT_DAY_TEXT_SIZE_SP = 18;
+
+    /** Height of the marker row including its top margin, as in item_date.xml. */
+    private static final int MARKER_ROW_DP = 8;
+
+    private final Paint weekdayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint dayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint markerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /** Reused font metrics for baseline computation. */
+    private final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+
+    private ColorStateList weekdayTextColor;
+    private ColorStateList dayTextColor;
+
+    private int defaultWidth;
+    private int defaultHeight;
+    private float markerRowHeight;
+    private float markerRadius;
+    private float markerSpacing;
+
+    /** Label positions for the current size and text sizes. */
+    private float weekdayBaseline;
+    private float dayBaseline;
+    private float markerCenterY;
+
+    /** Labels currently shown; shared table entries, so identity comparison suffices. */
+    private String dayOfWeek = "";
+    private String dayOfMonth = "";
+
+    /** Packed marker value currently shown. */
+    private int markerValue;
+
+    /** Palette the marker color bits index into. */
+    private int[] markerPalette = HorizontalCalendarAdapter.DEFAULT_MARKER_COLORS;
+
+    public DateCellView(Context context) {
+        this(context, null);
+    }
+
+    public DateCellView(Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, R.attr.dateCellStyle);
+    }
+
+    public DateCellView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs, defStyleAttr);
+    }
+
+    private void init(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+        defaultWidth = Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DEFAULT_WIDTH_DP, metrics));
+        defaultHeight = Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DEFAULT_HEIGHT_DP, metrics));
+        markerRowHeight = MARKER_ROW_DP * metrics.density;
+        markerRadius = 2 * metrics.density;
+        markerSpacing = 6 * metrics.density;
+
+        float weekdayTextSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, DEFAULT_WEEKDAY_TEXT_SIZE_SP, metrics);
+        float dayTextSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, DEFAULT_DAY_TEXT_SIZE_SP, metrics);
+
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.DateCellView, defStyleAttr, 0);
+        weekdayTextColor = typedArray.getColorStateList(R.styleable.DateCellView_cellWeekdayTextColor);
+        dayTextColor = typedArray.getColorStateList(R.styleable.DateCellView_cellDayTextColor);
+        weekdayTextSize = typedArray.getDimension(R.styleable.DateCellView_cellWeekdayTextSize, weekdayTextSize);
+        dayTextSize = typedArray.getDimension(R.styleable.DateCellView_cellDayTextSize, dayTextSize);
+        typedArray.recycle();
+
+        if (weekdayTextColor == null) weekdayTextColor = ColorStateList.valueOf(DEFAULT_TEXT_COLOR);
+        if (dayTextColor == null) dayTextColor = ColorStateList.valueOf(DEFAULT_TEXT_COLOR);
+
+        weekdayPaint.setTextAlign(Paint.Align.CENTER);
+        weekdayPaint.setTextSize(weekdayTextSize);
+        dayPaint.setTextAlign(Paint.Align.CENTER);
+        dayPaint.setTextSize(dayTextSize);
+        dayPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        updateTextColors();
+
+        int padding = Math.round(4 * metrics.density);
+        setPadding(padding, padding, padding, padding);
+        setBackgroundResource(R.drawable.bg_date_cell);
+        setClickable(true);
+    }
+
+    /**
+     * Shows the given labels; invalidates only if one of them changed.
+     *
+     * @param dayOfWeek  weekday label
+     * @param dayOfMonth day number label
+     */
+    void setLabels(String dayOfWeek, String dayOfMonth) {
+        if (dayOfWeek == this.dayOfWeek && dayOfMonth == this.dayOfMonth) return;
+        this.dayOfWeek = dayOfWeek;
+        this.dayOfMonth = dayOfMonth;
+        invalidate();
+    }
+
+    /**
+     * Shows a marker value; invalidates only if it differs from the current one.
+     *
+     * @param value   packed marker value, 0 for none
+     * @param palette marker colors
+     */
+    void setMarker(int value, int[] palette) {
+        if (markerValue == value && markerPalette == palette) return;
+        markerValue = value;
+        markerPalette = palette;
+        invalidate();
+    }
+
+    /**
+     * Returns the weekday label currently shown.
+     */
+    public CharSequence getDayOfWeekText() {
+        return dayOfWeek;
+    }
+
+    /**
+     * Returns the day number label currently shown.
+     */
+    public CharSequence getDayOfMonthText() {
+        return dayOfMonth;
+    }
+
+    @Override
+    protected void drawableStateChanged() {
+        super.drawableStateChanged();
+        if (updateTextColors()) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Resolves the text colors for the current drawable state.
+     *
+     * @return true if a color changed
+     */
+    private boolean updateTextColors() {
+        int[] state = getDrawableState();
+        int weekdayColor = weekdayTextColor.getColorForState(state, weekdayTextColor.getDefaultColor());
+        int dayColor = dayTextColor.getColorForState(state, dayTextColor.getDefaultColor());
+        if (weekdayColor == weekdayPaint.getColor() && dayColor == dayPaint.getColor()) return false;
+        weekdayPaint.setColor(weekdayColor);
+        dayPaint.setColor(dayColor);
+        return true;
+    }
+
+    /**
+     * Measures to the default cell size unless the layout params say otherwise.
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(
+                resolveSize(defaultWidth, widthMeasureSpec),
+                resolveSize(defaultHeight, heightMeasureSpec)
+        );
+    }
+
+    /**
+     * Centers the labels and the marker row vertically, as the LinearLayout in
+     * item_date.xml does.
+     */
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        weekdayPaint.getFontMetrics(fontMetrics);
+        float weekdayAscent = fontMetrics.ascent;
+        float weekdayHeight = fontMetrics.descent - fontMetrics.ascent;
+        dayPaint.getFontMetrics(fontMetrics);
+        float dayHeight = fontMetrics.descent - fontMetrics.ascent;
+
+        float contentHeight = h - getPaddingTop() - getPaddingBottom();
+        float top = getPaddingTop() + (contentHeight - weekdayHeight - dayHeight - markerRowHeight) / 2f;
+        weekdayBaseline = top - weekdayAscent;
+        dayBaseline = top + weekdayHeight - fontMetrics.ascent;
+        markerCenterY = top + weekdayHeight + dayHeight + markerRowHeight / 2f;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        float centerX = getPaddingLeft() + (getWidth() - getPaddingLeft() - getPaddingRight()) / 2f;
+        canvas.drawText(dayOfWeek, centerX, weekdayBaseline, weekdayPaint);
+        canvas.drawText(dayOfMonth, centerX, dayBaseline, dayPaint);
+        DayMarkerView.drawMarkers(canvas, markerPaint, markerValue, markerPalette,
+                centerX, markerCenterY, markerRadius, markerSpacing);
+    }
+
+    /**
+     * Exposes the labels to accessibility services, which read TextView cells directly.
+     */
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        info.setText(dayOfWeek + " " + dayOfMonth);
+    }
+}
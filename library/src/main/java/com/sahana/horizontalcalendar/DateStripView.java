@@ -0,0 +1,753 @@
+package com.sahana.horizontalcalendar;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.OverScroller;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+
+/**
+ * Single view that draws the whole date strip of a {@link HorizontalCalendar}:
+ * weekday and day labels, week dividers and the selection frame.
+ * <p>
+ * It replaces the RecyclerView (three inflated views per day) in the canvas render mode.
+ * Positions and days come from the same {@link HorizontalCalendarAdapter} window, so the
+ * widget keeps one position model; the adapter is only observed, never attached to a
+ * RecyclerView. Scrolling, flinging and snapping are handled here with an {@link OverScroller}.
+ * Labels and the frame are styled from the same {@code dateCellStyle} and
+ * {@code selectionFrameStyle} theme attributes as {@link DateCellView} and
+ * {@link SelectionFrameView}. Accessibility services see one virtual view per visible day.
+ */
+class DateStripView extends View {
+
+    /** Callbacks mirroring the RecyclerView events HorizontalCalendar listens to. */
+    interface Listener {
+        /** Called after the strip scrolled by {@code dx} pixels. */
+        void onScrolled(int dx);
+
+        /**
+         * Called when the scroll state changes; uses the
+         * {@code RecyclerView.SCROLL_STATE_*} constants.
+         */
+        void onScrollStateChanged(int newState);
+
+        /** Called when a day is tapped. */
+        void onItemClick(int position);
+    }
+
+    /** Upper bound for the duration of snap animations, in ms. */
+    private static final int MAX_SCROLL_DURATION = 600;
+
+    /** Animation time per scrolled cell for smooth scrolls, in ms. */
+    static final int SCROLL_DURATION_PER_CELL = 40;
+
+    private final OverScroller scroller;
+    private VelocityTracker velocityTracker;
+    private final int touchSlop;
+    private final int minFlingVelocity;
+    private final int maxFlingVelocity;
+
+    private final Paint weekdayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint dayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint dividerPaint = new Paint();
+    private final Paint selectionFillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint selectionBorderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint markerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF selectionRect = new RectF();
+    private final RectF checkedRect = new RectF();
+    private final float selectionRadius;
+
+    /** Width of the selection frame in pixels, centered in the strip; negative spans it. */
+    private float selectionFrameWidth;
+
+    /**
+     * Label colors for each combination of the {@link #STATE_SELECTED},
+     * {@link #STATE_ACTIVATED} and {@link #STATE_ENABLED} bits, resolved once from the
+     * color state lists.
+     */
+    private final int[] weekdayColors = new int[8];
+    private final int[] dayColors = new int[8];
+
+    private static final int STATE_SELECTED = 1;
+    private static final int STATE_ACTIVATED = 2;
+    private static final int STATE_ENABLED = 4;
+
+    /** Width of one day cell in pixels (48dp, as in item_date.xml). */
+    private final int cellWidth;
+
+    /** Height of the day cells in pixels (70dp, as in item_date.xml). */
+    private final int cellHeight;
+
+    /** Baselines of the two labels relative to the top of a cell, from cached font metrics. */
+    private final float weekdayBaseline;
+    private final float dayBaseline;
+
+    /** Vertical center of the marker dots relative to the top of a cell. */
+    private final float markerCenterY;
+    private final float markerRadius;
+    private final float markerSpacing;
+
+    /** Gap between the week dividers and the top/bottom of the cells. */
+    private int dividerInset;
+
+    /** Reused coordinates for batched divider drawing. */
+    private float[] dividerLines = new float[32];
+
+    private HorizontalCalendarAdapter adapter;
+    private Listener listener;
+
+    /** Exposes the drawn days as virtual views, keyed by adapter position. */
+    private final AccessibilityHelper accessibilityHelper;
+
+    private boolean showWeekDividers = true;
+    private boolean weekStartsOnMonday = true;
+
+    /** Scroll offset: the centered point, in pixels from the center of position 0. */
+    private int scrollOffset;
+
+    private int scrollState = RecyclerView.SCROLL_STATE_IDLE;
+    private boolean dragging;
+    private float downX;
+    private float lastX;
+
+    /** Redraws the strip whenever the adapter window or selection changes. */
+    private final RecyclerView.AdapterDataObserver adapterObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            scrollToOffset(scrollOffset);
+            invalidate();
+            accessibilityHelper.invalidateRoot();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            invalidate();
+            accessibilityHelper.invalidateRoot();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            invalidate();
+            accessibilityHelper.invalidateRoot();
+        }
+    };
+
+    DateStripView(Context context) {
+        super(context);
+
+        scroller = new OverScroller(context);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        touchSlop = configuration.getScaledTouchSlop();
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+        cellWidth = Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 48, metrics));
+        cellHeight = Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 70, metrics));
+
+        TypedArray cellStyle = context.obtainStyledAttributes(null, R.styleable.DateCellView,
+                R.attr.dateCellStyle, 0);
+        ColorStateList weekdayTextColor = cellStyle.getColorStateList(R.styleable.DateCellView_cellWeekdayTextColor);
+        ColorStateList dayTextColor = cellStyle.getColorStateList(R.styleable.DateCellView_cellDayTextColor);
+        weekdayPaint.setTextSize(cellStyle.getDimension(R.styleable.DateCellView_cellWeekdayTextSize,
+                TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, DateCellView.DEFAULT_WEEKDAY_TEXT_SIZE_SP, metrics)));
+        dayPaint.setTextSize(cellStyle.getDimension(R.styleable.DateCellView_cellDayTextSize,
+                TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, DateCellView.DEFAULT_DAY_TEXT_SIZE_SP, metrics)));
+        cellStyle.recycle();
+        resolveColors(weekdayTextColor, weekdayColors);
+        resolveColors(dayTextColor, dayColors);
+
+        weekdayPaint.setTextAlign(Paint.Align.CENTER);
+        dayPaint.setTextAlign(Paint.Align.CENTER);
+        dayPaint.setTypeface(Typeface.DEFAULT_BOLD);
+
+        TypedArray frameStyle = context.obtainStyledAttributes(null, R.styleable.SelectionFrameView,
+                R.attr.selectionFrameStyle, 0);
+        selectionFillPaint.setStyle(Paint.Style.FILL);
+        selectionFillPaint.setColor(frameStyle.getColor(R.styleable.SelectionFrameView_selectionFillColor,
+                SelectionFrameView.DEFAULT_FILL_COLOR));
+        selectionBorderPaint.setStyle(Paint.Style.STROKE);
+        selectionBorderPaint.setStrokeWidth(frameStyle.getDimension(R.styleable.SelectionFrameView_selectionBorderWidth,
+                SelectionFrameView.DEFAULT_BORDER_WIDTH));
+        selectionBorderPaint.setColor(frameStyle.getColor(R.styleable.SelectionFrameView_selectionBorderColor,
+                SelectionFrameView.DEFAULT_BORDER_COLOR));
+        selectionRadius = frameStyle.getDimension(R.styleable.SelectionFrameView_selectionCornerRadius,
+                SelectionFrameView.DEFAULT_CORNER_RADIUS);
+        selectionFrameWidth = frameStyle.getDimension(R.styleable.SelectionFrameView_selectionFrameWidth, cellWidth);
+        frameStyle.recycle();
+
+        // Center labels and marker row vertically as the LinearLayout in item_date.xml does
+        markerRadius = 2 * metrics.density;
+        markerSpacing = 6 * metrics.density;
+        float markerHeight = 8 * metrics.density;
+        Paint.FontMetrics weekdayMetrics = weekdayPaint.getFontMetrics();
+        Paint.FontMetrics dayMetrics = dayPaint.getFontMetrics();
+        float weekdayHeight = weekdayMetrics.descent - weekdayMetrics.ascent;
+        float dayHeight = dayMetrics.descent - dayMetrics.ascent;
+        float top = (cellHeight - weekdayHeight - dayHeight - markerHeight) / 2f;
+        weekdayBaseline = top - weekdayMetrics.ascent;
+        dayBaseline = top + weekdayHeight - dayMetrics.ascent;
+        markerCenterY = top + weekdayHeight + dayHeight + markerHeight / 2f;
+
+        accessibilityHelper = new AccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+    }
+
+    /**
+     * Sets the adapter whose window of days this strip shows.
+     */
+    void setAdapter(HorizontalCalendarAdapter adapter) {
+        if (this.adapter != null) {
+            this.adapter.unregisterAdapterDataObserver(adapterObserver);
+        }
+        this.adapter = adapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(adapterObserver);
+        }
+        scrollToOffset(scrollOffset);
+        invalidate();
+        accessibilityHelper.invalidateRoot();
+    }
+
+    /**
+     * Resolves a label color state list, or the default color if none is set, for every
+     * state combination the strip draws.
+     */
+    private static void resolveColors(ColorStateList colors, int[] out) {
+        for (int state = 0; state < out.length; state++) {
+            if (colors == null) {
+                out[state] = DateCellView.DEFAULT_TEXT_COLOR;
+                continue;
+            }
+            int[] stateSet = new int[Integer.bitCount(state)];
+            int i = 0;
+            if ((state & STATE_SELECTED) != 0) stateSet[i++] = android.R.attr.state_selected;
+            if ((state & STATE_ACTIVATED) != 0) stateSet[i++] = android.R.attr.state_activated;
+            if ((state & STATE_ENABLED) != 0) stateSet[i] = android.R.attr.state_enabled;
+            out[state] = colors.getColorForState(stateSet, colors.getDefaultColor());
+        }
+    }
+
+    /**
+     * Sets the width of the selection frame.
+     *
+     * @param width width in pixels, or a negative value to span the strip
+     */
+    void setSelectionFrameWidth(float width) {
+        selectionFrameWidth = width;
+        invalidate();
+    }
+
+    float getSelectionFrameWidth() {
+        return selectionFrameWidth < 0 ? getWidth() : selectionFrameWidth;
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    void setShowWeekDividers(boolean enabled) {
+        showWeekDividers = enabled;
+        invalidate();
+    }
+
+    /**
+     * Styles the week dividers like {@link WeekDividerDecoration}.
+     *
+     * @param color color of the dividers
+     * @param width stroke width in pixels
+     * @param inset gap to the top and bottom of the cells in pixels
+     */
+    void setWeekDividerStyle(int color, float width, int inset) {
+        dividerPaint.setColor(color);
+        dividerPaint.setStrokeWidth(width);
+        dividerInset = inset;
+        invalidate();
+    }
+
+    void setWeekStartsOnMonday(boolean startsOnMonday) {
+        weekStartsOnMonday = startsOnMonday;
+        invalidate();
+    }
+
+    int getScrollState() {
+        return scrollState;
+    }
+
+    /**
+     * Returns the position whose cell is under the center of the strip.
+     *
+     * @return the centered position, or {@link RecyclerView#NO_POSITION} without adapter
+     */
+    int getCenterPosition() {
+        if (adapter == null || adapter.getItemCount() == 0) return RecyclerView.NO_POSITION;
+        return clampPosition((scrollOffset + cellWidth / 2) / cellWidth);
+    }
+
+    /**
+     * Returns the width of one day cell in pixels.
+     */
+    int getCellWidth() {
+        return cellWidth;
+    }
+
+    /**
+     * Returns the distance from the strip center to the center of the given position's
+     * cell, in pixels; negative for cells left of the center.
+     */
+    int getDistanceToCenter(int position) {
+        return position * cellWidth - scrollOffset;
+    }
+
+    /**
+     * Returns the first position with a (partially) visible cell.
+     */
+    int getFirstVisiblePosition() {
+        if (adapter == null || adapter.getItemCount() == 0) return RecyclerView.NO_POSITION;
+        int originX = getWidth() / 2 - cellWidth / 2 - scrollOffset;
+        return clampPosition(Math.floorDiv(-originX, cellWidth));
+    }
+
+    /**
+     * Returns the last position with a (partially) visible cell.
+     */
+    int getLastVisiblePosition() {
+        if (adapter == null || adapter.getItemCount() == 0) return RecyclerView.NO_POSITION;
+        int originX = getWidth() / 2 - cellWidth / 2 - scrollOffset;
+        return clampPosition(Math.floorDiv(getWidth() - originX, cellWidth));
+    }
+
+    /**
+     * Centers the given position immediately.
+     */
+    void scrollToPosition(int position) {
+        stopScroll();
+        scrollToOffset(clampPosition(position) * cellWidth);
+    }
+
+    /**
+     * Animates to center the given position. A position more than {@code maxAnimatedCells}
+     * away is first jumped to that distance, so only the last cells are animated.
+     *
+     * @param position         adapter position
+     * @param maxAnimatedCells most cells to animate through
+     * @param maxDuration      upper bound for the animation, in ms
+     */
+    void smoothScrollToPosition(int position, int maxAnimatedCells, int maxDuration) {
+        // Keep the scroll state: the new animation continues any running one
+        scroller.forceFinished(true);
+        int targetOffset = clampPosition(position) * cellWidth;
+        int maxDistance = (int) Math.min(Integer.MAX_VALUE, (long) maxAnimatedCells * cellWidth);
+        int dx = targetOffset - scrollOffset;
+        if (Math.abs(dx) > maxDistance) {
+            scrollToOffset(targetOffset - Integer.signum(dx) * maxDistance);
+        }
+        startScrollTo(targetOffset, maxDuration);
+    }
+
+    /**
+     * Scrolls by the given number of pixels without animation.
+     */
+    void scrollByDistance(int dx) {
+        scrollToOffset(scrollOffset + dx);
+    }
+
+    /** Aborts any running fling or animation. */
+    void stopScroll() {
+        if (!scroller.isFinished()) {
+            scroller.abortAnimation();
+        }
+        setScrollState(RecyclerView.SCROLL_STATE_IDLE);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int height = cellHeight + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(
+                getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                resolveSize(height, heightMeasureSpec)
+        );
+    }
+
+    /**
+     * Draws the visible cells, week dividers and the selection frame.
+     */
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (adapter == null || adapter.getItemCount() == 0) return;
+
+        boolean traced = CalendarTrace.beginSection(CalendarTrace.DRAW_DATE_STRIP);
+        try {
+            drawStrip(canvas);
+        } finally {
+            CalendarTrace.endSection(traced);
+        }
+    }
+
+    private void drawStrip(Canvas canvas) {
+        int centerX = getWidth() / 2;
+        int top = getPaddingTop();
+        int bottom = top + cellHeight;
+
+        // Left edge of position 0 in view coordinates
+        int originX = centerX - cellWidth / 2 - scrollOffset;
+        int firstPosition = getFirstVisiblePosition();
+        int lastPosition = getLastVisiblePosition();
+
+        CalendarChronology chronology = adapter.getChronology();
+        LocaleLabelCache.Labels labels = LocaleLabelCache.forDefaultLocale(chronology);
+        int lastDayOfWeek = chronology.getLastDayOfWeek(weekStartsOnMonday);
+        int selectedPosition = adapter.getSelectedPosition();
+        int lineCount = 0;
+
+        for (int position = firstPosition; position <= lastPosition; position++) {
+            long epochDay = adapter.getEpochDayAt(position);
+            int left = originX + position * cellWidth;
+            float x = left + cellWidth / 2f;
+            int dayOfWeek = EpochDays.dayOfWeek(epochDay);
+            boolean disabled = adapter.isDayDisabled(epochDay);
+            boolean checked = adapter.isDayChecked(epochDay);
+            int state = (position == selectedPosition ? STATE_SELECTED : 0)
+                    | (checked ? STATE_ACTIVATED : 0)
+                    | (disabled ? 0 : STATE_ENABLED);
+            setLabelColor(weekdayPaint, weekdayColors[state], disabled);
+            setLabelColor(dayPaint, dayColors[state], disabled);
+
+            if (checked) {
+                checkedRect.set(left, top, left + cellWidth, bottom);
+                canvas.drawRoundRect(checkedRect, selectionRadius, selectionRadius, selectionFillPaint);
+            }
+
+            canvas.drawText(labels.shortWeekdays[dayOfWeek], x, top + weekdayBaseline, weekdayPaint);
+            canvas.drawText(labels.dayNumbers[chronology.getDayOfMonth(epochDay)], x, top + dayBaseline, dayPaint);
+            DayMarkerView.drawMarkers(canvas, markerPaint, adapter.getMarkerValue(epochDay),
+                    adapter.getMarkerColors(), x, top + markerCenterY, markerRadius, markerSpacing);
+
+            if (showWeekDividers && dayOfWeek == lastDayOfWeek) {
+                if (lineCount + 4 > dividerLines.length) {
+                    float[] grown = new float[dividerLines.length * 2];
+                    System.arraycopy(dividerLines, 0, grown, 0, lineCount);
+                    dividerLines = grown;
+                }
+                float lineX = left + cellWidth;
+                dividerLines[lineCount++] = lineX;
+                dividerLines[lineCount++] = top + dividerInset;
+                dividerLines[lineCount++] = lineX;
+                dividerLines[lineCount++] = bottom - dividerInset;
+            }
+        }
+        if (lineCount > 0) {
+            canvas.drawLines(dividerLines, 0, lineCount, dividerPaint);
+        }
+
+        float halfStroke = selectionBorderPaint.getStrokeWidth() / 2f;
+        float halfWidth = Math.min(getSelectionFrameWidth(), getWidth()) / 2f;
+        selectionRect.left = centerX - halfWidth + halfStroke;
+        selectionRect.top = top + halfStroke;
+        selectionRect.right = centerX + halfWidth - halfStroke;
+        selectionRect.bottom = bottom - halfStroke;
+        canvas.drawRoundRect(selectionRect, selectionRadius, selectionRadius, selectionFillPaint);
+        canvas.drawRoundRect(selectionRect, selectionRadius, selectionRadius, selectionBorderPaint);
+    }
+
+    /**
+     * Sets a resolved label color, faded like a disabled {@link DateCellView}.
+     */
+    private static void setLabelColor(Paint paint, int color, boolean disabled) {
+        paint.setColor(color);
+        if (disabled) {
+            paint.setAlpha(Math.round(Color.alpha(color) * HorizontalCalendarAdapter.DISABLED_ALPHA));
+        }
+    }
+
+    /**
+     * Handles drag, fling and tap gestures.
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (adapter == null || adapter.getItemCount() == 0) return false;
+
+        if (velocityTracker == null) {
+            velocityTracker = VelocityTracker.obtain();
+        }
+        velocityTracker.addMovement(event);
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN: {
+                ViewParent parent = getParent();
+                if (parent != null) {
+                    parent.requestDisallowInterceptTouchEvent(true);
+                }
+                dragging = !scroller.isFinished();
+                if (dragging) {
+                    scroller.abortAnimation();
+                    setScrollState(RecyclerView.SCROLL_STATE_DRAGGING);
+                }
+                downX = event.getX();
+                lastX = downX;
+                return true;
+            }
+            case MotionEvent.ACTION_MOVE: {
+                float x = event.getX();
+                if (!dragging && Math.abs(x - downX) > touchSlop) {
+                    dragging = true;
+                    lastX = x;
+                    setScrollState(RecyclerView.SCROLL_STATE_DRAGGING);
+                }
+                if (dragging) {
+                    int dx = (int) (lastX - x);
+                    if (dx != 0) {
+                        scrollToOffset(scrollOffset + dx);
+                        lastX -= dx;
+                    }
+                }
+                return true;
+            }
+            case MotionEvent.ACTION_UP: {
+                if (dragging) {
+                    velocityTracker.computeCurrentVelocity(1000, maxFlingVelocity);
+                    int velocity = (int) -velocityTracker.getXVelocity();
+                    if (Math.abs(velocity) > minFlingVelocity) {
+                        fling(velocity);
+                    } else {
+                        startScrollTo(snapOffset(scrollOffset), MAX_SCROLL_DURATION);
+                    }
+                } else {
+                    performClick();
+                    int position = positionAtX(event.getX());
+                    if (position != RecyclerView.NO_POSITION) {
+                        clickPosition(position);
+                    }
+                }
+                recycleVelocityTracker();
+                return true;
+            }
+            case MotionEvent.ACTION_CANCEL: {
+                if (dragging) {
+                    startScrollTo(snapOffset(scrollOffset), MAX_SCROLL_DURATION);
+                }
+                recycleVelocityTracker();
+                return true;
+            }
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    /**
+     * Reports a tap on the given position, from touch or an accessibility action.
+     */
+    private void clickPosition(int position) {
+        if (listener != null) {
+            listener.onItemClick(position);
+        }
+        accessibilityHelper.sendEventForVirtualView(position, AccessibilityEvent.TYPE_VIEW_CLICKED);
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    /**
+     * Advances fling and snap animations.
+     */
+    @Override
+    public void computeScroll() {
+        if (!scroller.computeScrollOffset()) return;
+
+        scrollToOffset(scroller.getCurrX());
+        if (scroller.isFinished()) {
+            setScrollState(RecyclerView.SCROLL_STATE_IDLE);
+        } else {
+            postInvalidateOnAnimation();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        stopScroll();
+        recycleVelocityTracker();
+    }
+
+    private void fling(int velocity) {
+        scroller.fling(scrollOffset, 0, velocity, 0, 0, getMaxScrollOffset(), 0, 0);
+        // Land exactly on a cell center
+        scroller.setFinalX(snapOffset(scroller.getFinalX()));
+        setScrollState(RecyclerView.SCROLL_STATE_SETTLING);
+        postInvalidateOnAnimation();
+    }
+
+    private void startScrollTo(int targetOffset, int maxDuration) {
+        int dx = targetOffset - scrollOffset;
+        if (dx == 0) {
+            scroller.forceFinished(true);
+            setScrollState(RecyclerView.SCROLL_STATE_IDLE);
+            return;
+        }
+        int cells = Math.abs(dx) / cellWidth + 1;
+        int duration = Math.min(maxDuration, cells * SCROLL_DURATION_PER_CELL);
+        scroller.startScroll(scrollOffset, 0, dx, 0, duration);
+        setScrollState(RecyclerView.SCROLL_STATE_SETTLING);
+        postInvalidateOnAnimation();
+    }
+
+    private void scrollToOffset(int offset) {
+        int clamped = Math.max(0, Math.min(offset, getMaxScrollOffset()));
+        int dx = clamped - scrollOffset;
+        if (dx == 0) return;
+
+        scrollOffset = clamped;
+        invalidate();
+        if (listener != null) {
+            listener.onScrolled(dx);
+        }
+    }
+
+    private void setScrollState(int state) {
+        if (scrollState == state) return;
+        scrollState = state;
+        if (state == RecyclerView.SCROLL_STATE_IDLE) {
+            // The visible days and their bounds changed
+            accessibilityHelper.invalidateRoot();
+        }
+        if (listener != null) {
+            listener.onScrollStateChanged(state);
+        }
+    }
+
+    /** Rounds an offset to the nearest cell center within the window. */
+    private int snapOffset(int offset) {
+        return clampPosition((offset + cellWidth / 2) / cellWidth) * cellWidth;
+    }
+
+    private int getMaxScrollOffset() {
+        if (adapter == null) return 0;
+        return Math.max(0, adapter.getItemCount() - 1) * cellWidth;
+    }
+
+    private int positionAtX(float x) {
+        if (adapter == null) return RecyclerView.NO_POSITION;
+        int originX = getWidth() / 2 - cellWidth / 2 - scrollOffset;
+        int position = Math.floorDiv((int) x - originX, cellWidth);
+        if (position < 0 || position >= adapter.getItemCount()) return RecyclerView.NO_POSITION;
+        return position;
+    }
+
+    private int clampPosition(int position) {
+        int count = adapter != null ? adapter.getItemCount() : 0;
+        return Math.max(0, Math.min(position, count - 1));
+    }
+
+    private void recycleVelocityTracker() {
+        if (velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+        dragging = false;
+    }
+
+    /**
+     * Exposes each visible day as a virtual view with its labels and state, the level
+     * {@link DateCellView} offers in the recycler mode, and routes clicks to the tap handler.
+     */
+    private final class AccessibilityHelper extends ExploreByTouchHelper {
+
+        AccessibilityHelper(@NonNull View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int position = positionAtX(x);
+            return position == RecyclerView.NO_POSITION ? INVALID_ID : position;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            if (adapter == null || adapter.getItemCount() == 0) return;
+            int last = getLastVisiblePosition();
+            for (int position = getFirstVisiblePosition(); position <= last; position++) {
+                virtualViewIds.add(position);
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            int originX = getWidth() / 2 - cellWidth / 2 - scrollOffset;
+            int left = originX + virtualViewId * cellWidth;
+            int top = getPaddingTop();
+            node.setBoundsInParent(new Rect(left, top, left + cellWidth, top + cellHeight));
+            if (adapter == null || virtualViewId >= adapter.getItemCount()) {
+                node.setContentDescription("");
+                return;
+            }
+
+            long epochDay = adapter.getEpochDayAt(virtualViewId);
+            CalendarChronology chronology = adapter.getChronology();
+            LocaleLabelCache.Labels labels = LocaleLabelCache.forDefaultLocale(chronology);
+            node.setContentDescription(labels.shortWeekdays[EpochDays.dayOfWeek(epochDay)]
+                    + " " + labels.dayNumbers[chronology.getDayOfMonth(epochDay)]);
+            // Checked days of the multiple and range modes read as selected too
+            node.setSelected(virtualViewId == adapter.getSelectedPosition() || adapter.isDayChecked(epochDay));
+            boolean enabled = !adapter.isDayDisabled(epochDay);
+            node.setEnabled(enabled);
+            if (enabled) {
+                node.setClickable(true);
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+            }
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (action != AccessibilityNodeInfoCompat.ACTION_CLICK
+                    || adapter == null || virtualViewId >= adapter.getItemCount()) {
+                return false;
+            }
+            clickPosition(virtualViewId);
+            return true;
+        }
+    }
+}
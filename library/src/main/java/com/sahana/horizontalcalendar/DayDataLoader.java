@@ -0,0 +1,246 @@
+package com.sahana.horizontalcalendar;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Loads pages of {@link DayDataSource} values off the main thread and caches them.
+ * <p>
+ * All state is touched on the main thread only: the worker fills a fresh array and posts it
+ * back. Cached pages live in small parallel primitive arrays with least-recently-used
+ * eviction, so {@link #get(long)} during bind is a short scan without boxing. A request
+ * carries a token; results whose request was cancelled or superseded are dropped.
+ */
+final class DayDataLoader {
+
+    /** Receives pages as they arrive, on the main thread. */
+    interface Listener {
+        /**
+         * Called after a page was loaded and cached.
+         *
+         * @param firstEpochDay first day of the page
+         * @param dayCount      number of days in the page
+         */
+        void onPageLoaded(long firstEpochDay, int dayCount);
+    }
+
+    /** Pages kept in memory. Covers the visible pages plus prefetch in both directions. */
+    static final int CACHE_PAGES = 12;
+
+    /** Most pages requested ahead of the scroll direction. */
+    static final int MAX_PREFETCH_PAGES = 3;
+
+    /** Most requests in flight at once; further pages are requested on a later scroll callback. */
+    private static final int MAX_PENDING = 8;
+
+    /** Scroll frames at the current speed that prefetched pages should cover. */
+    private static final int PREFETCH_FRAMES = 30;
+
+    private static final int PAGE_SIZE = DayDataSource.PAGE_SIZE;
+
+    /** Shared worker used when the caller supplies no executor. */
+    private static ExecutorService defaultExecutor;
+
+    private final DayDataSource source;
+    private final Executor executor;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** Page index ({@code floorDiv(epochDay, PAGE_SIZE)}) of each cached page. */
+    private final long[] cachedPages = new long[CACHE_PAGES];
+    private final int[][] cachedValues = new int[CACHE_PAGES][];
+    /** Use stamp of each cached page; the smallest is evicted first. */
+    private final long[] lastUsed = new long[CACHE_PAGES];
+    private int cacheSize;
+    private long useClock;
+
+    /** Cache slot of the most recent hit; consecutive binds usually fall into the same page. */
+    private int lastHit = -1;
+
+    private final long[] pendingPages = new long[MAX_PENDING];
+    private final long[] pendingTokens = new long[MAX_PENDING];
+    private final FutureTask<?>[] pendingTasks = new FutureTask<?>[MAX_PENDING];
+    private int pendingCount;
+    private long nextToken;
+
+    DayDataLoader(DayDataSource source, Executor executor, Listener listener) {
+        this.source = source;
+        this.executor = executor != null ? executor : defaultExecutor();
+        this.listener = listener;
+    }
+
+    private static synchronized ExecutorService defaultExecutor() {
+        if (defaultExecutor == null) {
+            defaultExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "HorizontalCalendar-DayData");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Returns the loaded value of a day, or 0 if its page is not in the cache.
+     */
+    int get(long epochDay) {
+        long page = Math.floorDiv(epochDay, PAGE_SIZE);
+        int slot = findCached(page);
+        if (slot < 0) return 0;
+
+        lastUsed[slot] = ++useClock;
+        return cachedValues[slot][(int) (epochDay - page * PAGE_SIZE)];
+    }
+
+    /**
+     * Makes sure the pages of the given days are loaded or loading, prefetches pages in the
+     * scroll direction and cancels requests for pages far from the visible days.
+     *
+     * @param firstDay  first visible day
+     * @param lastDay   last visible day
+     * @param dx        last horizontal scroll delta in pixels; 0 when idle
+     * @param cellWidth width of one day cell in pixels, or 0 if unknown
+     */
+    void requestDays(long firstDay, long lastDay, int dx, int cellWidth) {
+        long firstPage = Math.floorDiv(firstDay, PAGE_SIZE);
+        long lastPage = Math.floorDiv(lastDay, PAGE_SIZE);
+
+        // A jump leaves earlier requests behind; they would only delay the visible pages
+        cancelPendingOutside(firstPage - MAX_PREFETCH_PAGES, lastPage + MAX_PREFETCH_PAGES);
+
+        for (long page = firstPage; page <= lastPage; page++) {
+            request(page);
+        }
+
+        int ahead = prefetchPages(dx, cellWidth);
+        if (dx >= 0) {
+            for (long page = lastPage + 1; page <= lastPage + ahead; page++) {
+                request(page);
+            }
+        }
+        if (dx <= 0) {
+            for (long page = firstPage - 1; page >= firstPage - ahead; page--) {
+                request(page);
+            }
+        }
+    }
+
+    /** Drops all cached pages and cancels pending requests. */
+    void invalidate() {
+        cancelPending();
+        cacheSize = 0;
+        lastHit = -1;
+    }
+
+    /** Cancels pending requests; cached pages are kept. */
+    void cancelPending() {
+        for (int i = 0; i < pendingCount; i++) {
+            pendingTasks[i].cancel(true);
+            pendingTasks[i] = null;
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Returns how many pages to load ahead: enough for {@link #PREFETCH_FRAMES} frames at
+     * the current scroll speed, between 1 and {@link #MAX_PREFETCH_PAGES}.
+     */
+    private static int prefetchPages(int dx, int cellWidth) {
+        if (dx == 0 || cellWidth <= 0) return 1;
+        float daysAhead = Math.abs(dx) * (float) PREFETCH_FRAMES / cellWidth;
+        int pages = (int) Math.ceil(daysAhead / PAGE_SIZE);
+        return Math.max(1, Math.min(pages, MAX_PREFETCH_PAGES));
+    }
+
+    private void request(long page) {
+        if (findCached(page) >= 0 || findPending(page) >= 0) return;
+        if (pendingCount == MAX_PENDING) return;
+
+        long token = ++nextToken;
+        long firstEpochDay = page * PAGE_SIZE;
+        int[] values = new int[PAGE_SIZE];
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                source.loadDays(firstEpochDay, values);
+            } catch (RuntimeException e) {
+                // A failing page shows no data until the source is invalidated
+                Arrays.fill(values, 0);
+            }
+            if (!Thread.currentThread().isInterrupted()) {
+                mainHandler.post(() -> onLoaded(page, token, values));
+            }
+        }, null);
+
+        pendingPages[pendingCount] = page;
+        pendingTokens[pendingCount] = token;
+        pendingTasks[pendingCount] = task;
+        pendingCount++;
+        executor.execute(task);
+    }
+
+    private void onLoaded(long page, long token, int[] values) {
+        int index = findPending(page);
+        if (index < 0 || pendingTokens[index] != token) return;
+        removePending(index);
+
+        putCached(page, values);
+        listener.onPageLoaded(page * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    private void cancelPendingOutside(long minPage, long maxPage) {
+        for (int i = pendingCount - 1; i >= 0; i--) {
+            if (pendingPages[i] < minPage || pendingPages[i] > maxPage) {
+                pendingTasks[i].cancel(true);
+                removePending(i);
+            }
+        }
+    }
+
+    private int findPending(long page) {
+        for (int i = 0; i < pendingCount; i++) {
+            if (pendingPages[i] == page) return i;
+        }
+        return -1;
+    }
+
+    private void removePending(int index) {
+        int last = pendingCount - 1;
+        pendingPages[index] = pendingPages[last];
+        pendingTokens[index] = pendingTokens[last];
+        pendingTasks[index] = pendingTasks[last];
+        pendingTasks[last] = null;
+        pendingCount = last;
+    }
+
+    private int findCached(long page) {
+        if (lastHit >= 0 && lastHit < cacheSize && cachedPages[lastHit] == page) return lastHit;
+        for (int i = 0; i < cacheSize; i++) {
+            if (cachedPages[i] == page) {
+                lastHit = i;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void putCached(long page, int[] values) {
+        int slot;
+        if (cacheSize < CACHE_PAGES) {
+            slot = cacheSize++;
+        } else {
+            slot = 0;
+            for (int i = 1; i < cacheSize; i++) {
+                if (lastUsed[i] < lastUsed[slot]) slot = i;
+            }
+        }
+        cachedPages[slot] = page;
+        cachedValues[slot] = values;
+        lastUsed[slot] = ++useClock;
+    }
+}
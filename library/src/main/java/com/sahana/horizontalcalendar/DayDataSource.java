@@ -0,0 +1,26 @@
+package com.sahana.horizontalcalendar;
+
+/**
+ * Supplies per-day marker values (see {@link DayMarkers}) from slow storage such as a database.
+ * <p>
+ * {@link HorizontalCalendar} asks for pages of {@link #PAGE_SIZE} consecutive days on a
+ * background thread, around the visible days and ahead of the scroll direction, and keeps
+ * recently loaded pages in a small cache. Values returned here are merged with the markers
+ * set through {@link HorizontalCalendar#setMarkers(long[], int[])}.
+ */
+public interface DayDataSource {
+
+    /** Number of days in one page; pages start at multiples of this epoch day. */
+    int PAGE_SIZE = 32;
+
+    /**
+     * Loads the marker values of one page. Called on a background thread; implementations
+     * should check {@link Thread#isInterrupted()} during long work, since requests for
+     * pages the user scrolled far away from are cancelled.
+     *
+     * @param firstEpochDay first day of the page
+     * @param values        zero-filled array of {@link #PAGE_SIZE} entries; {@code values[i]}
+     *                      receives the packed value of {@code firstEpochDay + i}
+     */
+    void loadDays(long firstEpochDay, int[] values);
+}
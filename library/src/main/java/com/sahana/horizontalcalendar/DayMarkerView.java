@@ -0,0 +1,99 @@
+package com.sahana.horizontalcalendar;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Row of small dots under a day number showing that day's packed {@link DayMarkers} value.
+ * <p>
+ * Each color bit of the value draws one dot in the matching palette color; a value with a
+ * count but no colors draws up to {@link #MAX_DOTS} dots in the first palette color.
+ */
+public class DayMarkerView extends View {
+
+    /** Most dots drawn for one day. */
+    static final int MAX_DOTS = 4;
+
+    /** Packed marker value currently shown. */
+    private int value;
+
+    /** Palette the color bits index into. */
+    private int[] palette = HorizontalCalendarAdapter.DEFAULT_MARKER_COLORS;
+
+    private final Paint dotPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private float dotRadius;
+    private float dotSpacing;
+
+    public DayMarkerView(Context context) {
+        super(context);
+        init();
+    }
+
+    public DayMarkerView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        init();
+    }
+
+    public DayMarkerView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init();
+    }
+
+    private void init() {
+        float density = getResources().getDisplayMetrics().density;
+        dotRadius = 2 * density;
+        dotSpacing = 6 * density;
+    }
+
+    /**
+     * Shows a marker value; invalidates only if it differs from the current one.
+     *
+     * @param value   packed marker value, 0 for none
+     * @param palette marker colors
+     */
+    void setMarker(int value, int[] palette) {
+        if (this.value == value && this.palette == palette) return;
+        this.value = value;
+        this.palette = palette;
+        invalidate();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        drawMarkers(canvas, dotPaint, value, palette,
+                getWidth() / 2f, getHeight() / 2f, dotRadius, dotSpacing);
+    }
+
+    /**
+     * Draws the dots of a marker value centered on the given point.
+     * Shared with {@link DateStripView}, which draws markers without child views.
+     */
+    static void drawMarkers(Canvas canvas, Paint paint, int value, int[] palette,
+                            float centerX, float centerY, float radius, float spacing) {
+        if (value == 0 || palette.length == 0) return;
+
+        int mask = DayMarkers.colorMask(value);
+        int dots = mask != 0
+                ? Math.min(Integer.bitCount(mask), MAX_DOTS)
+                : Math.min(DayMarkers.count(value), MAX_DOTS);
+        float x = centerX - (dots - 1) * spacing / 2f;
+
+        for (int i = 0; i < dots; i++) {
+            int colorIndex = 0;
+            if (mask != 0) {
+                colorIndex = Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+            }
+            paint.setColor(palette[colorIndex % palette.length]);
+            canvas.drawCircle(x, centerY, radius, paint);
+            x += spacing;
+        }
+    }
+}
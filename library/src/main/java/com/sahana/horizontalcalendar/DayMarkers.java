@@ -0,0 +1,176 @@
+package com.sahana.horizontalcalendar;
+
+import java.util.Arrays;
+
+/**
+ * Sparse per-day marker values stored as parallel primitive arrays sorted by epoch day.
+ * <p>
+ * A marker value is a packed {@code int}: bits 0-7 hold a count (0..255) and bits 8-31 a
+ * mask selecting up to 24 colors of the calendar's marker palette. Use {@link #pack(int, int)},
+ * {@link #colorMask(int)} and {@link #count(int)} to build and read values; 0 means "no marker".
+ * Lookups are binary searches, so reading a day during bind is O(log n) without boxing.
+ */
+public final class DayMarkers {
+
+    /** Largest count a marker value can hold. */
+    public static final int MAX_COUNT = 0xFF;
+
+    /** Number of palette slots a marker value can select. */
+    public static final int MAX_COLORS = 24;
+
+    /** Days that have a marker, sorted ascending; only the first {@link #size} are valid. */
+    private long[] days;
+
+    /** Marker values, parallel to {@link #days}. */
+    private int[] values;
+
+    private int size;
+
+    DayMarkers() {
+        days = new long[16];
+        values = new int[16];
+    }
+
+    /**
+     * Packs a color mask and a count into a marker value.
+     *
+     * @param colorMask bit i selects palette color i (only the lowest 24 bits are used)
+     * @param count     number of events, clamped to 0..{@link #MAX_COUNT}
+     * @return the packed value
+     */
+    public static int pack(int colorMask, int count) {
+        int clamped = Math.max(0, Math.min(count, MAX_COUNT));
+        return ((colorMask & 0xFFFFFF) << 8) | clamped;
+    }
+
+    /** Returns the color mask of a packed marker value. */
+    public static int colorMask(int value) {
+        return value >>> 8;
+    }
+
+    /** Returns the count of a packed marker value. */
+    public static int count(int value) {
+        return value & MAX_COUNT;
+    }
+
+    /**
+     * Combines two marker values: color masks are OR-ed and counts added (clamped).
+     */
+    static int merge(int a, int b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+        return pack(colorMask(a) | colorMask(b), count(a) + count(b));
+    }
+
+    /**
+     * Returns the marker value of a day, or 0 if it has none.
+     */
+    int get(long epochDay) {
+        int index = Arrays.binarySearch(days, 0, size, epochDay);
+        return index >= 0 ? values[index] : 0;
+    }
+
+    /**
+     * Sets or, for value 0, removes the marker of a day.
+     *
+     * @return the previous value of that day
+     */
+    int put(long epochDay, int value) {
+        int index = Arrays.binarySearch(days, 0, size, epochDay);
+        if (index >= 0) {
+            int previous = values[index];
+            if (value == 0) {
+                System.arraycopy(days, index + 1, days, index, size - index - 1);
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            } else {
+                values[index] = value;
+            }
+            return previous;
+        }
+        if (value == 0) return 0;
+
+        int insertAt = -index - 1;
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(days, insertAt, days, insertAt + 1, size - insertAt);
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        days[insertAt] = epochDay;
+        values[insertAt] = value;
+        size++;
+        return 0;
+    }
+
+    /**
+     * Replaces all markers. The input does not need to be sorted; for duplicate days the
+     * later entry wins and zero values are dropped.
+     *
+     * @param epochDays days to mark
+     * @param markerValues packed values, parallel to {@code epochDays}
+     */
+    void setAll(long[] epochDays, int[] markerValues) {
+        int length = Math.min(epochDays.length, markerValues.length);
+        long[] sortedDays = Arrays.copyOf(epochDays, length);
+        int[] sortedValues = Arrays.copyOf(markerValues, length);
+        if (!isSorted(sortedDays)) {
+            mergeSort(sortedDays, sortedValues, new long[length], new int[length], 0, length);
+        }
+
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (count > 0 && sortedDays[count - 1] == sortedDays[i]) {
+                count--;
+            }
+            sortedDays[count] = sortedDays[i];
+            sortedValues[count] = sortedValues[i];
+            if (sortedValues[count] != 0) count++;
+        }
+
+        days = count > 0 ? sortedDays : new long[16];
+        values = count > 0 ? sortedValues : new int[16];
+        size = count;
+    }
+
+    /** Removes all markers. */
+    void clear() {
+        size = 0;
+    }
+
+    /** Returns the number of marked days. */
+    int size() {
+        return size;
+    }
+
+    private static boolean isSorted(long[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i - 1] > array[i]) return false;
+        }
+        return true;
+    }
+
+    /** Stable merge sort of {@code keys[from, to)} carrying {@code values} along. */
+    private static void mergeSort(long[] keys, int[] values, long[] keyBuffer, int[] valueBuffer,
+                                  int from, int to) {
+        if (to - from < 2) return;
+        int middle = (from + to) >>> 1;
+        mergeSort(keys, values, keyBuffer, valueBuffer, from, middle);
+        mergeSort(keys, values, keyBuffer, valueBuffer, middle, to);
+
+        int left = from;
+        int right = middle;
+        int out = from;
+        while (left < middle || right < to) {
+            if (right >= to || (left < middle && keys[left] <= keys[right])) {
+                keyBuffer[out] = keys[left];
+                valueBuffer[out++] = values[left++];
+            } else {
+                keyBuffer[out] = keys[right];
+                valueBuffer[out++] = values[right++];
+            }
+        }
+        System.arraycopy(keyBuffer, from, keys, from, to - from);
+        System.arraycopy(valueBuffer, from, values, from, to - from);
+    }
+}
@@ -0,0 +1,219 @@
+package com.sahana.horizontalcalendar;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Set of days stored as sorted, non-overlapping, non-adjacent closed intervals of epoch days.
+ * <p>
+ * Intervals are merged on insertion, so membership is a single binary search over the
+ * interval starts (O(log n)) and the nearest day outside the set is one interval end away.
+ * Storage is two parallel {@code long[]} arrays; lookups allocate nothing. Interval ends are
+ * clamped to the years 1..9999, the range the calendar can show.
+ */
+final class DayRangeSet {
+
+    /** Returned by {@link #nearestOutside(long, long, long)} when no day in the bounds qualifies. */
+    static final long NONE = Long.MIN_VALUE;
+
+    private static final long MIN_DAY = EpochDays.of(1, Calendar.JANUARY, 1);
+    private static final long MAX_DAY = EpochDays.of(9999, Calendar.DECEMBER, 31);
+
+    /** First day of each interval, ascending; only the first {@link #size} are valid. */
+    private long[] starts = new long[8];
+
+    /** Last day (inclusive) of each interval, parallel to {@link #starts}. */
+    private long[] ends = new long[8];
+
+    private int size;
+
+    /**
+     * Returns whether the day lies in one of the intervals.
+     */
+    boolean contains(long epochDay) {
+        return indexOfInterval(epochDay) >= 0;
+    }
+
+    /**
+     * Returns the number of intervals after merging.
+     */
+    int size() {
+        return size;
+    }
+
+    /** Removes all intervals. */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds the days {@code first..last} (inclusive), merging with overlapping or adjacent
+     * intervals. Runs in O(log n) plus the cost of shifting the arrays.
+     */
+    void add(long first, long last) {
+        first = Math.max(first, MIN_DAY);
+        last = Math.min(last, MAX_DAY);
+        if (first > last) return;
+
+        // Intervals touching [first - 1, last + 1] are absorbed
+        int from = lowerBound(first);
+        if (from > 0 && ends[from - 1] >= first - 1) from--;
+        int to = from;
+        while (to < size && starts[to] <= last + 1) {
+            to++;
+        }
+
+        if (from < to) {
+            first = Math.min(first, starts[from]);
+            last = Math.max(last, ends[to - 1]);
+        }
+        int removed = to - from;
+        if (removed == 0) {
+            ensureCapacity(size + 1);
+            System.arraycopy(starts, from, starts, from + 1, size - from);
+            System.arraycopy(ends, from, ends, from + 1, size - from);
+            size++;
+        } else if (removed > 1) {
+            System.arraycopy(starts, to, starts, from + 1, size - to);
+            System.arraycopy(ends, to, ends, from + 1, size - to);
+            size -= removed - 1;
+        }
+        starts[from] = first;
+        ends[from] = last;
+    }
+
+    /**
+     * Replaces all intervals. The input may be unsorted and overlapping; intervals with
+     * {@code first > last} are ignored. Runs in O(n log n).
+     *
+     * @param firsts first day of each interval
+     * @param lasts  last day (inclusive) of each interval, parallel to {@code firsts}
+     */
+    void setAll(long[] firsts, long[] lasts) {
+        int length = Math.min(firsts.length, lasts.length);
+        long[] sortedStarts = Arrays.copyOf(firsts, length);
+        long[] sortedEnds = Arrays.copyOf(lasts, length);
+        sortByStart(sortedStarts, sortedEnds, new long[length], new long[length], 0, length);
+
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            long start = Math.max(sortedStarts[i], MIN_DAY);
+            long end = Math.min(sortedEnds[i], MAX_DAY);
+            if (start > end) continue;
+            if (count > 0 && start <= sortedEnds[count - 1] + 1) {
+                sortedEnds[count - 1] = Math.max(sortedEnds[count - 1], end);
+            } else {
+                sortedStarts[count] = start;
+                sortedEnds[count] = end;
+                count++;
+            }
+        }
+
+        starts = count > 0 ? sortedStarts : new long[8];
+        ends = count > 0 ? sortedEnds : new long[8];
+        size = count;
+    }
+
+    /**
+     * Returns the day closest to {@code epochDay} that is not in the set and lies within
+     * {@code [min, max]}; ties go to the later day. Returns {@code epochDay} itself if it is
+     * not in the set.
+     *
+     * @return the day, or {@link #NONE} if every day in the bounds is in the set
+     */
+    long nearestOutside(long epochDay, long min, long max) {
+        int index = indexOfInterval(epochDay);
+        if (index < 0) return epochDay >= min && epochDay <= max ? epochDay : NONE;
+
+        // Neighbouring intervals are never adjacent, so the days just outside are free
+        long after = ends[index] + 1;
+        long before = starts[index] - 1;
+        boolean afterOk = after >= min && after <= max;
+        boolean beforeOk = before >= min && before <= max;
+        if (afterOk && beforeOk) {
+            return after - epochDay <= epochDay - before ? after : before;
+        }
+        if (afterOk) return after;
+        if (beforeOk) return before;
+        return NONE;
+    }
+
+    /**
+     * Returns the first day of {@code [from, to]} that is in the set.
+     *
+     * @return the day, or {@link #NONE} if no day of the range is in the set
+     */
+    long firstInside(long from, long to) {
+        if (from > to) return NONE;
+        if (indexOfInterval(from) >= 0) return from;
+        int next = lowerBound(from);
+        return next < size && starts[next] <= to ? starts[next] : NONE;
+    }
+
+    /**
+     * Returns the last day of {@code [from, to]} that is in the set.
+     *
+     * @return the day, or {@link #NONE} if no day of the range is in the set
+     */
+    long lastInside(long from, long to) {
+        if (from > to) return NONE;
+        if (indexOfInterval(to) >= 0) return to;
+        int previous = lowerBound(to + 1) - 1;
+        return previous >= 0 && ends[previous] >= from ? ends[previous] : NONE;
+    }
+
+    /** Returns the index of the interval containing the day, or -1. */
+    private int indexOfInterval(long epochDay) {
+        // Last interval starting at or before the day
+        int index = lowerBound(epochDay + 1) - 1;
+        if (index >= 0 && ends[index] >= epochDay) return index;
+        return -1;
+    }
+
+    /** Returns the first index whose start is {@code >= value}. */
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= starts.length) return;
+        int grown = Math.max(capacity, starts.length * 2);
+        starts = Arrays.copyOf(starts, grown);
+        ends = Arrays.copyOf(ends, grown);
+    }
+
+    /** Merge sort of {@code keys[from, to)} carrying {@code values} along. */
+    private static void sortByStart(long[] keys, long[] values, long[] keyBuffer, long[] valueBuffer,
+                                    int from, int to) {
+        if (to - from < 2) return;
+        int middle = (from + to) >>> 1;
+        sortByStart(keys, values, keyBuffer, valueBuffer, from, middle);
+        sortByStart(keys, values, keyBuffer, valueBuffer, middle, to);
+        if (keys[middle - 1] <= keys[middle]) return;
+
+        int left = from;
+        int right = middle;
+        int out = from;
+        while (left < middle || right < to) {
+            if (right >= to || (left < middle && keys[left] <= keys[right])) {
+                keyBuffer[out] = keys[left];
+                valueBuffer[out++] = values[left++];
+            } else {
+                keyBuffer[out] = keys[right];
+                valueBuffer[out++] = values[right++];
+            }
+        }
+        System.arraycopy(keyBuffer, from, keys, from, to - from);
+        System.arraycopy(valueBuffer, from, values, from, to - from);
+    }
+}
@@ -0,0 +1,131 @@
+package com.sahana.horizontalcalendar;
+
+import java.util.Arrays;
+
+/**
+ * Set of selected epoch days stored as a bitset.
+ * <p>
+ * The bitset only spans the words between the earliest and latest selected day, starting at
+ * {@link #origin}, so a selection covering a few months takes a handful of {@code long}s
+ * wherever it lies in time. Membership is O(1); setting a range works a word at a time.
+ */
+final class DaySelection {
+
+    private static final long[] EMPTY = new long[0];
+
+    /** Epoch day of bit 0 of {@code words[0]}; always a multiple of 64. */
+    private long origin;
+
+    private long[] words = EMPTY;
+
+    /**
+     * Returns whether the day is selected.
+     */
+    boolean contains(long epochDay) {
+        long offset = epochDay - origin;
+        if (offset < 0 || offset >= (long) words.length << 6) return false;
+        return (words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    /**
+     * Returns whether no day is selected.
+     */
+    boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Selects or deselects every day from {@code first} to {@code last} (inclusive).
+     */
+    void set(long first, long last, boolean selected) {
+        if (first > last) return;
+        if (selected) {
+            ensureCovers(first, last);
+        } else {
+            first = Math.max(first, origin);
+            last = Math.min(last, origin + ((long) words.length << 6) - 1);
+            if (first > last) return;
+        }
+
+        int firstWord = (int) ((first - origin) >>> 6);
+        int lastWord = (int) ((last - origin) >>> 6);
+        long firstMask = -1L << (first - origin);
+        long lastMask = -1L >>> (63 - ((last - origin) & 63));
+        for (int i = firstWord; i <= lastWord; i++) {
+            long mask = -1L;
+            if (i == firstWord) mask &= firstMask;
+            if (i == lastWord) mask &= lastMask;
+            if (selected) {
+                words[i] |= mask;
+            } else {
+                words[i] &= ~mask;
+            }
+        }
+    }
+
+    /** Deselects every day and releases the storage. */
+    void clear() {
+        origin = 0;
+        words = EMPTY;
+    }
+
+    /**
+     * Returns the selection as consecutive ranges.
+     *
+     * @return {@code [first0, last0, first1, last1, ...]}, ascending, inclusive, never adjacent
+     */
+    long[] toRanges() {
+        int count = 0;
+        long[] ranges = new long[8];
+        long runStart = Long.MIN_VALUE;
+
+        for (int i = 0; i <= words.length; i++) {
+            long word = i < words.length ? words[i] : 0;
+            long base = origin + ((long) i << 6);
+            int bit = 0;
+            while (bit < 64) {
+                if (runStart == Long.MIN_VALUE) {
+                    long remaining = word >>> bit;
+                    if (remaining == 0) break;
+                    bit += Long.numberOfTrailingZeros(remaining);
+                    runStart = base + bit;
+                } else {
+                    long remaining = ~word >>> bit;
+                    if (remaining == 0) break;
+                    bit += Long.numberOfTrailingZeros(remaining);
+                    if (count + 2 > ranges.length) {
+                        ranges = Arrays.copyOf(ranges, ranges.length * 2);
+                    }
+                    ranges[count++] = runStart;
+                    ranges[count++] = base + bit - 1;
+                    runStart = Long.MIN_VALUE;
+                }
+            }
+        }
+        return Arrays.copyOf(ranges, count);
+    }
+
+    /** Grows the bitset so it spans {@code first..last}. */
+    private void ensureCovers(long first, long last) {
+        long firstOrigin = Math.floorDiv(first, 64) * 64;
+        long end = Math.floorDiv(last, 64) * 64 + 64;
+        if (words.length == 0) {
+            origin = firstOrigin;
+            words = new long[(int) ((end - firstOrigin) >>> 6)];
+            return;
+        }
+
+        long currentEnd = origin + ((long) words.length << 6);
+        long newOrigin = Math.min(origin, firstOrigin);
+        long newEnd = Math.max(currentEnd, end);
+        if (newOrigin == origin && newEnd == currentEnd) return;
+
+        long[] grown = new long[(int) ((newEnd - newOrigin) >>> 6)];
+        System.arraycopy(words, 0, grown, (int) ((origin - newOrigin) >>> 6), words.length);
+        origin = newOrigin;
+        words = grown;
+    }
+}
@@ -0,0 +1,165 @@
+package com.sahana.horizontalcalendar;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Primitive day model used by the calendar's hot paths.
+ * <p>
+ * A day is represented as a {@code long} count of days since 1970-01-01 (the "epoch day"),
+ * in the proleptic Gregorian calendar. All field extractions are O(1) integer arithmetic,
+ * so binding and drawing code never needs to clone or mutate a {@link Calendar}.
+ */
+final class EpochDays {
+
+    /** Days in a full 400-year Gregorian cycle. */
+    private static final int DAYS_PER_ERA = 146097;
+
+    /** Epoch day of 0000-03-01, the origin used by the civil-from-days algorithm. */
+    private static final long DAYS_0000_TO_1970 = 719468;
+
+    private EpochDays() {
+    }
+
+    /**
+     * Converts a Gregorian date to an epoch day.
+     *
+     * @param year       the year, e.g. 2025
+     * @param month      the month in {@link Calendar#MONTH} form (0 = January)
+     * @param dayOfMonth the day of month, 1-based
+     * @return the epoch day
+     */
+    static long of(int year, int month, int dayOfMonth) {
+        int m = month + 1;
+        long y = m <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (m > 2 ? m - 3 : m + 9) + 2) / 5 + dayOfMonth - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * DAYS_PER_ERA + doe - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Returns the number of days of a Gregorian month.
+     *
+     * @param year  the year
+     * @param month the month in {@link Calendar#MONTH} form (0 = January)
+     */
+    static int monthLength(int year, int month) {
+        long first = of(year, month, 1);
+        long next = month == Calendar.DECEMBER ? of(year + 1, Calendar.JANUARY, 1) : of(year, month + 1, 1);
+        return (int) (next - first);
+    }
+
+    /**
+     * Returns the epoch day of the calendar's date, ignoring its time of day.
+     * Unlike dividing millisecond differences, this is not affected by DST transitions.
+     * The date is read in the proleptic Gregorian calendar, whatever the calendar system
+     * of the given instance (Julian dates before 1582, Buddhist or Japanese calendars).
+     *
+     * @param calendar the date to convert; must not be null
+     * @return the epoch day
+     */
+    static long fromCalendar(Calendar calendar) {
+        GregorianCalendar gregorian = prolepticGregorian(calendar.getTimeZone());
+        gregorian.setTimeInMillis(calendar.getTimeInMillis());
+        int yearOfEra = gregorian.get(Calendar.YEAR);
+        int year = gregorian.get(Calendar.ERA) == GregorianCalendar.BC ? 1 - yearOfEra : yearOfEra;
+        return of(year, gregorian.get(Calendar.MONTH), gregorian.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * Creates a new Calendar set to midnight of the given epoch day in the default time zone.
+     * It is a proleptic Gregorian calendar, so its fields match the epoch day for any year.
+     *
+     * @param epochDay the day to convert
+     * @return a new Calendar instance
+     */
+    static Calendar toCalendar(long epochDay) {
+        GregorianCalendar calendar = prolepticGregorian(TimeZone.getDefault());
+        int year = year(epochDay);
+        calendar.set(Calendar.ERA, year > 0 ? GregorianCalendar.AD : GregorianCalendar.BC);
+        calendar.set(Calendar.YEAR, year > 0 ? year : 1 - year);
+        calendar.set(Calendar.MONTH, month(epochDay));
+        calendar.set(Calendar.DAY_OF_MONTH, dayOfMonth(epochDay));
+        return calendar;
+    }
+
+    /**
+     * Creates a cleared Gregorian calendar without the Julian cutover, matching the
+     * arithmetic of this class.
+     */
+    private static GregorianCalendar prolepticGregorian(TimeZone timeZone) {
+        GregorianCalendar calendar = new GregorianCalendar(timeZone);
+        calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+        calendar.clear();
+        return calendar;
+    }
+
+    /**
+     * Returns the day of week in {@link Calendar#DAY_OF_WEEK} form (1 = Sunday ... 7 = Saturday).
+     */
+    static int dayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        return (int) Math.floorMod(epochDay + 4, 7L) + 1;
+    }
+
+    /**
+     * Returns the phase {@code p} for which {@code (position + p) % 7 == 0} holds exactly
+     * at the positions showing the given last day of a week; see {@link #isWeekBoundary}.
+     *
+     * @param lastDayOfWeek last day of a week in {@link Calendar#DAY_OF_WEEK} form
+     * @param baseEpochDay  epoch day shown at {@code startPosition}
+     * @param startPosition adapter position of {@code baseEpochDay}
+     */
+    static int weekBoundaryPhase(int lastDayOfWeek, long baseEpochDay, int startPosition) {
+        // Day of week of position p is dayOfWeek(baseEpochDay + p - startPosition)
+        int basePhase = dayOfWeek(baseEpochDay) - lastDayOfWeek;
+        return (int) Math.floorMod(basePhase - (long) startPosition, 7L);
+    }
+
+    /**
+     * Returns whether a position ends a week, given the phase from {@link #weekBoundaryPhase}.
+     */
+    static boolean isWeekBoundary(int position, int phase) {
+        return (position + phase) % 7 == 0;
+    }
+
+    /** Returns the 1-based day of month. */
+    static int dayOfMonth(long epochDay) {
+        long doy = dayOfMarchYear(epochDay);
+        long mp = (5 * doy + 2) / 153;
+        return (int) (doy - (153 * mp + 2) / 5 + 1);
+    }
+
+    /** Returns the month in {@link Calendar#MONTH} form (0 = January). */
+    static int month(long epochDay) {
+        long mp = (5 * dayOfMarchYear(epochDay) + 2) / 153;
+        return (int) (mp < 10 ? mp + 2 : mp - 10);
+    }
+
+    /** Returns the Gregorian year. */
+    static int year(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_ERA);
+        long doe = z - era * DAYS_PER_ERA;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        return (int) (yoe + era * 400 + (mp >= 10 ? 1 : 0));
+    }
+
+    /**
+     * Returns the zero-based day within a year that starts on March 1st,
+     * which keeps the leap day at the end and makes month lengths regular.
+     */
+    private static long dayOfMarchYear(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_ERA);
+        long doe = z - era * DAYS_PER_ERA;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        return doe - (365 * yoe + yoe / 4 - yoe / 100);
+    }
+}
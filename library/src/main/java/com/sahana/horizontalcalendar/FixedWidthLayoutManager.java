@@ -0,0 +1,190 @@
+package com.sahana.horizontalcalendar;
+
+import android.content.Context;
+import android.view.View;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Horizontal LayoutManager for lists whose cells all have the same width.
+ * <p>
+ * Because every cell is equally wide, the adapter position under the center of the
+ * list and the distance of any position from the center follow directly from the
+ * first attached child. Both queries are O(1), independent of how many cells are on screen.
+ */
+class FixedWidthLayoutManager extends LinearLayoutManager {
+
+    /** Action run once after the next completed layout, or null. */
+    private Runnable afterLayout;
+
+    /** Action posted after a layout and not run yet, or null. */
+    private Runnable postedAfterLayout;
+
+    /**
+     * Position to center in the next layout, for when no cell has been laid out yet and
+     * the cell width is unknown; {@link RecyclerView#NO_POSITION} if none.
+     */
+    private int pendingCenterPosition = RecyclerView.NO_POSITION;
+
+    /**
+     * Creates a horizontal, non-reversed layout manager.
+     *
+     * @param context context used by {@link LinearLayoutManager}
+     */
+    FixedWidthLayoutManager(Context context) {
+        super(context, LinearLayoutManager.HORIZONTAL, false);
+    }
+
+    /**
+     * Returns the width of one cell, taken from the first attached child.
+     *
+     * @return cell width in pixels, or 0 if nothing is laid out yet
+     */
+    int getCellWidth() {
+        if (getChildCount() == 0) return 0;
+        return getDecoratedMeasuredWidth(getChildAt(0));
+    }
+
+    /**
+     * Returns the x coordinate of the center of the list, inside its padding.
+     */
+    int getCenterX() {
+        return getPaddingLeft() + (getWidth() - getPaddingLeft() - getPaddingRight()) / 2;
+    }
+
+    /**
+     * Returns the adapter position of the cell under the center of the list.
+     *
+     * @return the centered position, or {@link RecyclerView#NO_POSITION} if nothing is laid out
+     */
+    int findCenterPosition() {
+        if (getChildCount() == 0) return RecyclerView.NO_POSITION;
+
+        View first = getChildAt(0);
+        int cellWidth = getDecoratedMeasuredWidth(first);
+        if (cellWidth <= 0) return RecyclerView.NO_POSITION;
+
+        int offset = getCenterX() - getDecoratedLeft(first);
+        int position = getPosition(first) + Math.floorDiv(offset, cellWidth);
+        return Math.max(0, Math.min(position, getItemCount() - 1));
+    }
+
+    /**
+     * Returns the adapter position of the first attached child.
+     *
+     * @return the position, or {@link RecyclerView#NO_POSITION} if nothing is laid out
+     */
+    int findFirstAttachedPosition() {
+        if (getChildCount() == 0) return RecyclerView.NO_POSITION;
+        return getPosition(getChildAt(0));
+    }
+
+    /**
+     * Returns the adapter position of the last attached child.
+     *
+     * @return the position, or {@link RecyclerView#NO_POSITION} if nothing is laid out
+     */
+    int findLastAttachedPosition() {
+        if (getChildCount() == 0) return RecyclerView.NO_POSITION;
+        return getPosition(getChildAt(getChildCount() - 1));
+    }
+
+    /**
+     * Returns how far the given position has to scroll to sit in the center of the list.
+     * The position does not need to be attached.
+     *
+     * @param position adapter position
+     * @return horizontal scroll distance in pixels (positive = scroll towards the end)
+     */
+    int getDistanceToCenter(int position) {
+        if (getChildCount() == 0) return 0;
+
+        View first = getChildAt(0);
+        int cellWidth = getDecoratedMeasuredWidth(first);
+        int cellCenter = getDecoratedLeft(first)
+                + (position - getPosition(first)) * cellWidth
+                + cellWidth / 2;
+        return cellCenter - getCenterX();
+    }
+
+    /**
+     * Centers the given position without animation. Like {@link #scrollToPosition(int)},
+     * this takes effect with the next layout and binds only the cells around the position.
+     * Before the first layout the position is centered by that layout itself, so the
+     * first frame already shows it centered.
+     *
+     * @param position adapter position
+     */
+    void scrollToCenter(int position) {
+        int cellWidth = getCellWidth();
+        if (cellWidth == 0) {
+            pendingCenterPosition = position;
+            requestLayout();
+            return;
+        }
+        pendingCenterPosition = RecyclerView.NO_POSITION;
+        scrollToPositionWithOffset(position, getCenterOffset(cellWidth));
+    }
+
+    /** Returns the offset from the start edge that centers a cell of the given width. */
+    private int getCenterOffset(int cellWidth) {
+        return (getWidth() - getPaddingLeft() - getPaddingRight()) / 2 - cellWidth / 2;
+    }
+
+    @Override
+    public void scrollToPosition(int position) {
+        pendingCenterPosition = RecyclerView.NO_POSITION;
+        super.scrollToPosition(position);
+    }
+
+    @Override
+    public void scrollToPositionWithOffset(int position, int offset) {
+        pendingCenterPosition = RecyclerView.NO_POSITION;
+        super.scrollToPositionWithOffset(position, offset);
+    }
+
+    @Override
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (pendingCenterPosition != RecyclerView.NO_POSITION && getWidth() > 0
+                && state.getItemCount() > 0 && !state.isPreLayout()) {
+            int position = Math.max(0, Math.min(pendingCenterPosition, state.getItemCount() - 1));
+            pendingCenterPosition = RecyclerView.NO_POSITION;
+            // Measure the centered cell once to learn the cell width; it goes to the view
+            // cache still bound and is picked up again by the layout below
+            View cell = recycler.getViewForPosition(position);
+            measureChildWithMargins(cell, 0, 0);
+            int cellWidth = getDecoratedMeasuredWidth(cell);
+            recycler.recycleView(cell);
+            // Requests made during a layout are dropped, so this does not cause a second pass
+            scrollToPositionWithOffset(position, getCenterOffset(cellWidth));
+        }
+        super.onLayoutChildren(recycler, state);
+    }
+
+    /**
+     * Runs the given action once the next layout completes, e.g. to continue with a smooth
+     * scroll after {@link #scrollToCenter(int)}. The action is posted to the next animation
+     * frame, as the adapter must not change during a layout. Replaces any action not run yet.
+     *
+     * @param action action to run, or null to cancel a pending one
+     */
+    void runAfterLayout(Runnable action) {
+        if (postedAfterLayout != null) {
+            removeCallbacks(postedAfterLayout);
+            postedAfterLayout = null;
+        }
+        afterLayout = action;
+    }
+
+    @Override
+    public void onLayoutCompleted(RecyclerView.State state) {
+        super.onLayoutCompleted(state);
+        Runnable action = afterLayout;
+        if (action != null) {
+            afterLayout = null;
+            postedAfterLayout = action;
+            postOnAnimation(action);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sahana.horizontalcalendar;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.SnapHelper;
+
+/**
+ * SnapHelper that centers cells of a {@link FixedWidthLayoutManager}.
+ * <p>
+ * Snap view, snap distance and fling target are computed arithmetically from the
+ * cell width instead of measuring every attached child as {@code LinearSnapHelper} does.
+ */
+class FixedWidthSnapHelper extends SnapHelper {
+
+    /**
+     * Returns the distance needed to center the target view.
+     */
+    @Override
+    public int[] calculateDistanceToFinalSnap(@NonNull RecyclerView.LayoutManager layoutManager,
+                                              @NonNull View targetView) {
+        int[] out = new int[2];
+        if (layoutManager instanceof FixedWidthLayoutManager) {
+            FixedWidthLayoutManager manager = (FixedWidthLayoutManager) layoutManager;
+            out[0] = manager.getDistanceToCenter(manager.getPosition(targetView));
+        }
+        return out;
+    }
+
+    /**
+     * Returns the view currently under the center of the list.
+     */
+    @Override
+    public View findSnapView(RecyclerView.LayoutManager layoutManager) {
+        if (!(layoutManager instanceof FixedWidthLayoutManager)) return null;
+
+        FixedWidthLayoutManager manager = (FixedWidthLayoutManager) layoutManager;
+        int centerPosition = manager.findCenterPosition();
+        if (centerPosition == RecyclerView.NO_POSITION) return null;
+        return manager.findViewByPosition(centerPosition);
+    }
+
+    /**
+     * Projects the fling distance onto whole cells and returns the position it lands on.
+     */
+    @Override
+    public int findTargetSnapPosition(RecyclerView.LayoutManager layoutManager, int velocityX, int velocityY) {
+        if (!(layoutManager instanceof FixedWidthLayoutManager)) return RecyclerView.NO_POSITION;
+
+        FixedWidthLayoutManager manager = (FixedWidthLayoutManager) layoutManager;
+        int itemCount = manager.getItemCount();
+        int cellWidth = manager.getCellWidth();
+        int centerPosition = manager.findCenterPosition();
+        if (itemCount == 0 || cellWidth <= 0 || centerPosition == RecyclerView.NO_POSITION) {
+            return RecyclerView.NO_POSITION;
+        }
+
+        int[] distance = calculateScrollDistance(velocityX, velocityY);
+        int delta = Math.round((float) distance[0] / cellWidth);
+        if (delta == 0) return RecyclerView.NO_POSITION;
+
+        return Math.max(0, Math.min(centerPosition + delta, itemCount - 1));
+    }
+}
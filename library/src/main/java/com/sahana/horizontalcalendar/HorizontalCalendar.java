@@ -6,24 +6,27 @@
 package com.sahana.horizontalcalendar;
 
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
-import android.graphics.PointF;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.util.AttributeSet;
-import android.util.DisplayMetrics;
+import android.util.SparseArray;
 import android.view.LayoutInflater;
-import android.view.View;
+import android.view.ViewGroup;
 import android.widget.RelativeLayout;
-import android.widget.TextView;
 
+import androidx.annotation.IntDef;
+import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
-import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.LinearSmoothScroller;
-import androidx.recyclerview.widget.LinearSnapHelper;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.text.DateFormatSymbols;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.util.Calendar;
-import java.util.Locale;
+import java.util.concurrent.Executor;
 
 /**
  * HorizontalCalendar is a custom calendar widget that displays dates in a horizontal list.
@@ -31,20 +34,23 @@ import java.util.Locale;
  */
 public class HorizontalCalendar extends RelativeLayout {
 
-    /** RecyclerView that displays dates in a horizontal list. */
+    /** RecyclerView that displays dates in a horizontal list (recycler render mode). */
     private RecyclerView recyclerView;
 
-    /** LayoutManager for horizontal arrangement of date items. */
-    private LinearLayoutManager layoutManager;
+    /** Single view drawing the whole strip (canvas render mode), or null. */
+    private DateStripView dateStrip;
+
+    /** LayoutManager for horizontal arrangement of equally wide date items. */
+    private FixedWidthLayoutManager layoutManager;
 
     /** Helper to snap the nearest date item to the center on scroll. */
-    private LinearSnapHelper snapHelper;
+    private FixedWidthSnapHelper snapHelper;
 
     /** View that highlights the centered (selected) date. */
-    private View selectionFrame;
+    private SelectionFrameView selectionFrame;
 
-    /** TextView showing the currently centered date (day + month + year). */
-    private TextView monthYearTextView;
+    /** Header showing the currently centered date (day + month + year by default). */
+    private MonthYearHeaderView monthYearHeader;
 
     /** Adapter backing the RecyclerView; generates date items around baseDate. */
     private HorizontalCalendarAdapter adapter;
@@ -58,27 +64,253 @@ public class HorizontalCalendar extends RelativeLayout {
     /** Number of days shown before and after baseDate (total = 2*visibleRange + 1). */
     private int visibleRange = 180;
 
+    /**
+     * Whether the calendar covers every supported date instead of visibleRange days
+     * around baseDate. Positions then map to days independently of baseDate.
+     */
+    private boolean unboundedRange = false;
+
+    /** Earliest selectable day (epoch day); defaults to the earliest supported day. */
+    private long minEpochDay = HorizontalCalendarAdapter.MIN_SUPPORTED_EPOCH_DAY;
+
+    /** Latest selectable day (epoch day); defaults to the latest supported day. */
+    private long maxEpochDay = HorizontalCalendarAdapter.MAX_SUPPORTED_EPOCH_DAY;
+
     /** Whether to draw week dividers between Saturdays/Sundays. */
     private boolean showWeekDividers = true;
 
     /** Whether the week should start on Monday (false = start on Sunday). */
     private boolean weekStartsOnMonday = true;
 
+    /** Color of the week dividers. */
+    private int weekDividerColor = WeekDividerDecoration.DEFAULT_COLOR;
+
+    /** Stroke width of the week dividers in pixels. */
+    private float weekDividerWidth = WeekDividerDecoration.DEFAULT_WIDTH;
+
+    /** Gap between the week dividers and the top/bottom of the cells in pixels. */
+    private int weekDividerInset = 0;
+
+    /** Per-day marker values (event dots/counts), shared with the adapter. */
+    private final DayMarkers markers = new DayMarkers();
+
+    /** Colors selected by the mask bits of marker values. */
+    private int[] markerColors = HorizontalCalendarAdapter.DEFAULT_MARKER_COLORS;
+
+    /** Days that cannot be selected; shared with the adapter. */
+    private final DayRangeSet disabledDays = new DayRangeSet();
+
+    /** Loads per-day values from the {@link DayDataSource}, or null if none is set. */
+    private DayDataLoader dayDataLoader;
+
+    /** Markers of recurrence rules; shared with the adapter. */
+    private final RecurrenceMarkers recurrenceMarkers = new RecurrenceMarkers();
+
     /** Index in the adapter of the currently centered (selected) item. */
     private int currentCenterPosition;
 
+    /**
+     * Each day is a cell view in a RecyclerView (default): a code-built {@link DateCellView},
+     * or a layout inflated from {@code dayCellLayout} if one is set.
+     */
+    public static final int RENDER_MODE_RECYCLER = 0;
+
+    /** One custom view draws all days; no per-cell views are created. */
+    public static final int RENDER_MODE_CANVAS = 1;
+
+    /** Header shows day, month and year, e.g. "5 May 2025". */
+    public static final int HEADER_GRANULARITY_DAY = 0;
+
+    /** Header shows month and year only and changes only when the month changes. */
+    public static final int HEADER_GRANULARITY_MONTH = 1;
+
+    /** Header shows the year only and changes only when the year changes. */
+    public static final int HEADER_GRANULARITY_YEAR = 2;
+
+    @IntDef({HEADER_GRANULARITY_DAY, HEADER_GRANULARITY_MONTH, HEADER_GRANULARITY_YEAR})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface HeaderGranularity {}
+
+    /** The centered day is the selection (default). */
+    public static final int SELECTION_MODE_SINGLE = 0;
+
+    /** Taps toggle individual days in and out of the selection. */
+    public static final int SELECTION_MODE_MULTIPLE = 1;
+
+    /**
+     * One contiguous range: tap its first and last day, or long-press a day and drag
+     * across the others.
+     */
+    public static final int SELECTION_MODE_RANGE = 2;
+
+    @IntDef({SELECTION_MODE_SINGLE, SELECTION_MODE_MULTIPLE, SELECTION_MODE_RANGE})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface SelectionMode {}
+
+    @IntDef({RENDER_MODE_RECYCLER, RENDER_MODE_CANVAS})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface RenderMode {}
+
+    /** Default upper bound for smooth scroll animations, in ms. */
+    public static final int DEFAULT_MAX_SMOOTH_SCROLL_DURATION = 600;
+
+    /** Default number of days a smooth scroll animates at most; farther targets are jumped to. */
+    public static final int DEFAULT_SMOOTH_SCROLL_JUMP_DAYS = 7;
+
+    /** Upper bound for smooth scroll animations, in ms. */
+    private int maxSmoothScrollDuration = DEFAULT_MAX_SMOOTH_SCROLL_DURATION;
+
+    /** Most days a smooth scroll animates through. */
+    private int smoothScrollJumpDays = DEFAULT_SMOOTH_SCROLL_JUMP_DAYS;
+
+    /** How day cells are rendered; chosen once through the {@code renderMode} XML attribute. */
+    @RenderMode
+    private int renderMode = RENDER_MODE_RECYCLER;
+
+    /** How taps and drags pick days. */
+    @SelectionMode
+    private int selectionMode = SELECTION_MODE_SINGLE;
+
+    /** Days picked in multiple or range mode; shared with the adapter. */
+    private final DaySelection checkedDays = new DaySelection();
+
+    /** Day a range starts from (first tap or long press), or {@link DayRangeSet#NONE}. */
+    private long rangeAnchor = DayRangeSet.NONE;
+
+    /** Current range in range mode, or {@link DayRangeSet#NONE} if there is none. */
+    private long rangeFirst = DayRangeSet.NONE;
+    private long rangeLast = DayRangeSet.NONE;
+
+    /** Which date fields the header shows; also decides when the header text changes. */
+    @HeaderGranularity
+    private int headerGranularity = HEADER_GRANULARITY_DAY;
+
+    /**
+     * Key of the header text currently shown (epoch day, month index or year depending on
+     * {@link #headerGranularity}); header work is skipped while the key is unchanged.
+     */
+    private long headerKey = Long.MIN_VALUE;
+
+    /**
+     * Label tables the header was rendered with; new tables after a locale change or a
+     * {@link LocaleLabelCache#invalidate()} re-render it even if the key is unchanged.
+     */
+    private LocaleLabelCache.Labels headerLabels;
+
+    /** Reused buffer the header text is rendered into. */
+    private final StringBuilder headerBuffer = new StringBuilder(32);
+
+    /** Receiver of timings, or null; the clock is only read while one is set. */
+    private HorizontalCalendarMetrics metrics;
+
+    /** Reports frame intervals to {@link #metrics} while scrolling. */
+    private final ScrollFrameTracker frameTracker = new ScrollFrameTracker();
+
+    /** Start time of the running {@link #scrollToDateSmooth} call, or 0 if none is measured. */
+    private long smoothScrollStartNanos;
+
+    /** Days the measured smooth scroll covers. */
+    private int smoothScrollDays;
+
+    /** Cookie of the open smooth scroll trace section, or 0 if none is open. */
+    private int smoothScrollTraceCookie;
+
+    /** Layout inflated for each day cell, or 0 for the code-built {@link DateCellView}. */
+    private int dayCellLayout;
+
+    /** Calendar system of the labels, the header and the week boundaries. */
+    private CalendarChronology chronology = CalendarChronology.GREGORIAN;
+
+    /** Width of a day cell, used before any cell is laid out. */
+    private static final int DEFAULT_CELL_WIDTH_DP = 48;
+
+    /** Pool of day cell holders; private to this calendar unless set with {@link #setViewPool}. */
+    private CalendarViewPool viewPool;
+
+    /** Holders {@link #prewarmViewHolders(int)} still aims for, or 0 if none are requested. */
+    private int prewarmTarget;
+
+    /** Idle handler creating one holder per idle pass, or null if none is queued. */
+    private MessageQueue.IdleHandler prewarmHandler;
+
     /** Listener for external date selection events. */
     public interface OnDateSelectedListener {
         void onDateSelected(Calendar date);
     }
 
-    private OnDateSelectedListener onDateSelectedListener;
+    /**
+     * Listener for selection events as epoch days; unlike {@link OnDateSelectedListener}
+     * no {@link Calendar} is created per event.
+     */
+    public interface OnDaySelectedListener {
+        /**
+         * @param epochDay selected day (see {@link #calendarOf(long)})
+         */
+        void onDaySelected(long epochDay);
+    }
+
+    /** Delivers selection events once per settled day. */
+    private final SelectionDispatcher selectionDispatcher = new SelectionDispatcher();
+
+    /** Group this calendar scrolls with, or null; set by {@link HorizontalCalendarGroup}. */
+    HorizontalCalendarGroup group;
+
+    /** Listener for changes of the multiple or range selection. */
+    public interface OnSelectionChangedListener {
+        /**
+         * Called after the user changed the selection.
+         *
+         * @param selectedRanges {@code [first0, last0, first1, last1, ...]} as inclusive
+         *                       epoch days, ascending
+         */
+        void onSelectionChanged(long[] selectedRanges);
+    }
+
+    private OnSelectionChangedListener onSelectionChangedListener;
+
+    /**
+     * Sets the listener notified when the multiple or range selection changes.
+     */
+    public void setOnSelectionChangedListener(OnSelectionChangedListener listener) {
+        this.onSelectionChangedListener = listener;
+    }
 
     /**
      * Sets the external listener that will be notified when a new date is selected.
+     * It is called once each time the calendar settles on a day other than the last one
+     * reported, however the day was reached (tap, swipe, fling or a scroll call).
      */
     public void setOnDateSelectedListener(OnDateSelectedListener listener) {
-        this.onDateSelectedListener = listener;
+        selectionDispatcher.setDateListener(listener);
+    }
+
+    /**
+     * Sets a listener notified like the {@link OnDateSelectedListener}, but with the epoch
+     * day, so events allocate nothing. Both listeners may be set.
+     */
+    public void setOnDaySelectedListener(OnDaySelectedListener listener) {
+        selectionDispatcher.setDayListener(listener);
+    }
+
+    /**
+     * Delivers selection events on the given executor instead of the main thread, e.g. to
+     * start database queries without blocking scrolling. Events keep their order only if
+     * the executor runs tasks in order.
+     *
+     * @param executor executor for selection listeners, or null for the main thread
+     */
+    public void setSelectionEventExecutor(Executor executor) {
+        selectionDispatcher.setExecutor(executor);
+    }
+
+    /**
+     * Delivers a selection only after the calendar stayed on it for the given time, so
+     * flinging through days in quick succession reports just the day the user stops at.
+     *
+     * @param millis idle time in ms, or 0 to report each settled day at once (default)
+     */
+    public void setSelectionDebounce(long millis) {
+        selectionDispatcher.setDebounceMillis(millis);
     }
 
     // Constructors to allow XML inflation
@@ -103,10 +335,11 @@ public class HorizontalCalendar extends RelativeLayout {
     private void init(Context context, AttributeSet attrs) {
         // Inflate layout
         LayoutInflater.from(context).inflate(R.layout.widget_horizontal_calendar, this, true);
+        LocaleChangeReceiver.ensureRegistered(context);
 
         // Find views
         recyclerView = findViewById(R.id.recyclerView);
-        monthYearTextView = findViewById(R.id.text_month_year);
+        monthYearHeader = findViewById(R.id.text_month_year);
         selectionFrame = findViewById(R.id.selectionFrame);
 
         recyclerView.setOnTouchListener((v, event) -> {
@@ -119,115 +352,276 @@ public class HorizontalCalendar extends RelativeLayout {
             TypedArray typedArray = context.getTheme().obtainStyledAttributes(attrs, R.styleable.HorizontalCalendar, 0, 0);
             showWeekDividers = typedArray.getBoolean(R.styleable.HorizontalCalendar_showWeekDividers, this.showWeekDividers);
             weekStartsOnMonday = typedArray.getBoolean(R.styleable.HorizontalCalendar_weekStartsOnMonday, this.weekStartsOnMonday);
+            weekDividerColor = typedArray.getColor(R.styleable.HorizontalCalendar_weekDividerColor, weekDividerColor);
+            weekDividerWidth = typedArray.getDimension(R.styleable.HorizontalCalendar_weekDividerWidth, weekDividerWidth);
+            weekDividerInset = typedArray.getDimensionPixelSize(R.styleable.HorizontalCalendar_weekDividerInset, weekDividerInset);
             visibleRange = typedArray.getInt(
                     R.styleable.HorizontalCalendar_visibleRange,
                     visibleRange
             );
+            unboundedRange = typedArray.getBoolean(R.styleable.HorizontalCalendar_unboundedRange, this.unboundedRange);
+            headerGranularity = typedArray.getInt(
+                    R.styleable.HorizontalCalendar_headerGranularity,
+                    headerGranularity
+            );
+            renderMode = typedArray.getInt(R.styleable.HorizontalCalendar_renderMode, renderMode);
+            selectionMode = typedArray.getInt(R.styleable.HorizontalCalendar_selectionMode, selectionMode);
+            dayCellLayout = typedArray.getResourceId(R.styleable.HorizontalCalendar_dayCellLayout, dayCellLayout);
+            chronology = chronologyForAttr(typedArray.getInt(R.styleable.HorizontalCalendar_chronology, 0));
             typedArray.recycle();
         }
 
+        if (renderMode == RENDER_MODE_CANVAS) {
+            initDateStrip(context);
+            return;
+        }
+
         // Set up RecyclerView
-        layoutManager = new LinearLayoutManager(context, LinearLayoutManager.HORIZONTAL, false);
+        layoutManager = new FixedWidthLayoutManager(context);
         recyclerView.setLayoutManager(layoutManager);
+        viewPool = new CalendarViewPool();
+        applyViewPool(false);
 
         // Attach snapping helper to center items nicely
-        snapHelper = new LinearSnapHelper();
+        snapHelper = new FixedWidthSnapHelper();
         snapHelper.attachToRecyclerView(recyclerView);
 
+        // Long press and drag selects a range in range mode
+        recyclerView.addOnItemTouchListener(new RangeDragListener(context, recyclerView, new RangeDragListener.Callback() {
+            @Override
+            public boolean onRangeDragStart(int position) {
+                if (selectionMode != SELECTION_MODE_RANGE || adapter == null) return false;
+                long day = adapter.getEpochDayAt(position);
+                if (adapter.isDayDisabled(day)) return false;
+                rangeAnchor = day;
+                setRange(day, day);
+                return true;
+            }
+
+            @Override
+            public void onRangeDragMove(int position) {
+                extendRange(adapter.getEpochDayAt(position));
+            }
+
+            @Override
+            public void onRangeDragEnd() {
+                dispatchSelectionChanged();
+            }
+        }));
+
         // Handle scroll events to update month-year
         recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
             public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
                 super.onScrolled(rv, dx, dy);
-                updateHeaderOnScroll();
+                onCellsScrolled(dx);
             }
             @Override
             public void onScrollStateChanged(@NonNull RecyclerView rv, int newState) {
                 super.onScrollStateChanged(rv, newState);
-                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
-                    updateCenterPosition();
-                }
+                HorizontalCalendar.this.onScrollStateChanged(newState);
             }
         });
     }
 
     /**
-     * Smoothly scrolls to and centers the specified date.
-     *
-     * @param date target date; must not be null
+     * Replaces the RecyclerView and selection overlay with a single {@link DateStripView}
+     * occupying the same place in the layout.
      */
-    public void scrollToDateSmooth(Calendar date) {
-        if (layoutManager == null || adapter == null || date == null) return;
-
-        long diff = (date.getTimeInMillis() - baseDate.getTimeInMillis())
-                / (24L * 60 * 60 * 1000);
-        int targetPos = adapter.getStartPosition() + (int) diff;
-
-        final float MILLISECONDS_PER_INCH = 100f;  // speed of the scroll
-
-
-        LinearSmoothScroller scroller = new LinearSmoothScroller(getContext()) {
+    private void initDateStrip(Context context) {
+        ViewGroup container = (ViewGroup) recyclerView.getParent();
+        ViewGroup.LayoutParams params = recyclerView.getLayoutParams();
+        container.removeView(selectionFrame);
+        container.removeView(recyclerView);
+        recyclerView = null;
+        selectionFrame = null;
+
+        dateStrip = new DateStripView(context);
+        dateStrip.setId(R.id.recyclerView);
+        dateStrip.setShowWeekDividers(showWeekDividers);
+        dateStrip.setWeekStartsOnMonday(weekStartsOnMonday);
+        dateStrip.setWeekDividerStyle(weekDividerColor, weekDividerWidth, weekDividerInset);
+        dateStrip.setListener(new DateStripView.Listener() {
             @Override
-            public PointF computeScrollVectorForPosition(int pos) {
-                return layoutManager.computeScrollVectorForPosition(pos);
+            public void onScrolled(int dx) {
+                onCellsScrolled(dx);
             }
 
             @Override
-            public int calculateDtToFit(int viewStart, int viewEnd,
-                                           int boxStart,  int boxEnd,
-                                           int snapPreference) {
-                int viewCenter = (viewStart + viewEnd) / 2;
-                int boxCenter  = (boxStart  + boxEnd ) / 2;
-                return boxCenter - viewCenter;
+            public void onScrollStateChanged(int newState) {
+                HorizontalCalendar.this.onScrollStateChanged(newState);
             }
 
             @Override
-            protected float calculateSpeedPerPixel(DisplayMetrics dm) {
-                return MILLISECONDS_PER_INCH / dm.densityDpi;
+            public void onItemClick(int position) {
+                onDayClicked(adapter.getEpochDayAt(position));
             }
+        });
+        container.addView(dateStrip, params);
+    }
 
-            @Override
-            protected int getHorizontalSnapPreference() {
-                return SNAP_TO_ANY;
+    /**
+     * Smoothly scrolls to and centers the specified date.
+     * A disabled date is replaced by the nearest enabled one. A date more than
+     * {@link #setSmoothScrollJumpDays(int) a few days} away is first jumped to without
+     * animation, so a year away costs about as much as next week.
+     *
+     * @param date target date; must not be null
+     */
+    public void scrollToDateSmooth(Calendar date) {
+        if (adapter == null || date == null) return;
+        if (group != null) group.setDriver(this);
+        scrollToDaySmooth(EpochDays.fromCalendar(date));
+    }
+
+    private void scrollToDaySmooth(long epochDay) {
+        int targetPos = findEnabledPosition(epochDay);
+        if (metrics != null) {
+            int fromPos = findCenterPosition();
+            if (fromPos != RecyclerView.NO_POSITION && fromPos != targetPos) {
+                smoothScrollStartNanos = System.nanoTime();
+                smoothScrollDays = targetPos - fromPos;
             }
-        };
-        scroller.setTargetPosition(targetPos);
-        layoutManager.startSmoothScroll(scroller);
+        }
+        scrollToPositionSmooth(targetPos);
+    }
+
+    /**
+     * Sets the upper bound for smooth scroll animations. Longer distances animate faster
+     * instead of longer.
+     *
+     * @param millis maximum duration in ms; at least 1
+     */
+    public void setMaxSmoothScrollDuration(int millis) {
+        maxSmoothScrollDuration = Math.max(1, millis);
+    }
+
+    /**
+     * Sets how many days a smooth scroll animates through at most. A farther target is first
+     * jumped to this many days before it, without binding the days in between.
+     *
+     * @param days days to animate at most; {@link Integer#MAX_VALUE} animates every day,
+     *             0 jumps straight to the target
+     */
+    public void setSmoothScrollJumpDays(int days) {
+        smoothScrollJumpDays = Math.max(0, days);
+    }
+
+    /**
+     * Smoothly scrolls the given adapter position to the center.
+     */
+    private void scrollToPositionSmooth(int targetPos) {
+        endSmoothScrollTrace();
+        smoothScrollTraceCookie = CalendarTrace.beginAsyncSection(CalendarTrace.SMOOTH_SCROLL);
+        if (dateStrip != null) {
+            dateStrip.smoothScrollToPosition(targetPos, smoothScrollJumpDays, maxSmoothScrollDuration);
+            return;
+        }
+        if (layoutManager == null) return;
+
+        int centerPos = layoutManager.findCenterPosition();
+        if (centerPos == RecyclerView.NO_POSITION || Math.abs(targetPos - centerPos) > smoothScrollJumpDays) {
+            // Jump without binding the cells in between, then animate the last stretch
+            int jumpPos = centerPos == RecyclerView.NO_POSITION
+                    ? targetPos
+                    : targetPos - Integer.signum(targetPos - centerPos) * smoothScrollJumpDays;
+            layoutManager.scrollToCenter(jumpPos);
+            layoutManager.runAfterLayout(() -> animateToCenter(targetPos));
+            return;
+        }
+        layoutManager.runAfterLayout(null);
+        animateToCenter(targetPos);
+    }
+
+    /**
+     * Animates an attached or nearby position to the center, taking
+     * {@link DateStripView#SCROLL_DURATION_PER_CELL} per cell up to the configured maximum.
+     */
+    private void animateToCenter(int position) {
+        int dx = layoutManager.getDistanceToCenter(position);
+        if (dx == 0) {
+            // Already centered: settle as if an animation had just ended
+            if (recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+                recyclerView.stopScroll();
+            } else {
+                endSmoothScrollTrace();
+                updateCenterPosition();
+            }
+            return;
+        }
+        int cells = Math.abs(dx) / Math.max(1, layoutManager.getCellWidth()) + 1;
+        int duration = Math.min(maxSmoothScrollDuration, cells * DateStripView.SCROLL_DURATION_PER_CELL);
+        recyclerView.smoothScrollBy(dx, 0, null, duration);
     }
 
     /**
      * Instantly (no animation) centers the specified date.
+     * A disabled date is replaced by the nearest enabled one.
      *
      * @param date target date; must not be null
      */
     public void scrollToDateInstant(Calendar date) {
-        if (layoutManager == null || adapter == null || date == null) return;
+        if (date == null) return;
+        if (group != null) group.setDriver(this);
+        scrollToDayInstant(EpochDays.fromCalendar(date));
+    }
 
-        long days = (date.getTimeInMillis() - baseDate.getTimeInMillis())
-                / (24L * 60 * 60 * 1000);
-        final int targetPos = adapter.getStartPosition() + (int) days;
+    private void scrollToDayInstant(long epochDay) {
+        if (adapter == null) return;
 
-        recyclerView.scrollToPosition(targetPos);
+        final int targetPos = findEnabledPosition(epochDay);
+        if (dateStrip != null) {
+            dateStrip.scrollToPosition(targetPos);
+            selectCenteredPosition(targetPos);
+            return;
+        }
+        if (layoutManager == null) return;
 
-        recyclerView.post(() -> {
-            View targetView = layoutManager.findViewByPosition(targetPos);
-            if (targetView == null) return;
+        layoutManager.runAfterLayout(null);
+        recyclerView.stopScroll();
+        // The next layout centers the position, so selection and header can be set right away
+        layoutManager.scrollToCenter(targetPos);
+        selectCenteredPosition(targetPos);
+    }
 
-            int[] dist = snapHelper.calculateDistanceToFinalSnap(layoutManager, targetView);
-            if (dist != null) {
-                recyclerView.scrollBy(dist[0], dist[1]);
-            }
+    /**
+     * Marks an instantly centered position as selected and notifies the listener.
+     */
+    private void selectCenteredPosition(int position) {
+        currentCenterPosition = position;
+        adapter.setSelectedPosition(position);
+        updateUpDate();
+        requestDayData(0);
+        onDaySettled(adapter.getEpochDayAt(position));
+    }
 
-            currentCenterPosition = targetPos;
-            adapter.setSelectedPosition(targetPos);
-            updateUpDate();
+    /**
+     * Handles a tap on a day cell: scrolls to it and notifies the listener.
+     */
+    private void onDayClicked(long day) {
+        if (adapter.isDayDisabled(day)) return;
 
-            if (onDateSelectedListener != null) {
-                Calendar selected = (Calendar) baseDate.clone();
-                selected.add(Calendar.DAY_OF_YEAR, targetPos - adapter.getStartPosition());
-                onDateSelectedListener.onDateSelected(selected);
+        if (selectionMode == SELECTION_MODE_MULTIPLE) {
+            setDaysChecked(day, day, !checkedDays.contains(day));
+            dispatchSelectionChanged();
+            return;
+        }
+        if (selectionMode == SELECTION_MODE_RANGE) {
+            if (rangeAnchor == DayRangeSet.NONE || rangeFirst != rangeLast) {
+                // Start a new range
+                rangeAnchor = day;
+                setRange(day, day);
+            } else {
+                extendRange(day);
+                rangeAnchor = DayRangeSet.NONE;
             }
-        });
+            dispatchSelectionChanged();
+            return;
+        }
+
+        // Reported once the scroll settles on the day
+        if (group != null) group.setDriver(this);
+        scrollToDaySmooth(day);
     }
 
     /** Returns to the original baseDate with smooth animation. */
@@ -236,180 +630,1389 @@ public class HorizontalCalendar extends RelativeLayout {
     }
 
     /**
-     * Sets the date to center on initial display.
+     * Sets the date to center on initial display. The adapter is created on the first
+     * call only; later calls move its window (or, in unbounded mode, just scroll).
      *
      * @param date base date; must not be null
      */
     public void setInitialDate(Calendar date) {
         if (date == null) return;
 
+        applyBaseDate(date);
+        // Centered by the first layout pass, before anything is drawn
+        scrollToDayInstant(EpochDays.fromCalendar(baseDate));
+    }
+
+    /**
+     * Makes the given date the base of the adapter window, creating the adapter if needed,
+     * without scrolling.
+     */
+    private void applyBaseDate(Calendar date) {
         baseDate = (Calendar) date.clone();
         baseDate.set(Calendar.HOUR_OF_DAY, 0);
         baseDate.set(Calendar.MINUTE,      0);
         baseDate.set(Calendar.SECOND,      0);
         baseDate.set(Calendar.MILLISECOND, 0);
 
-        adapter = new HorizontalCalendarAdapter(baseDate, visibleRange);
-        recyclerView.setAdapter(adapter);
-        adapter.setOnDateClickListener(selectedDate -> {
-            scrollToDateSmooth(selectedDate);
-            if (onDateSelectedListener != null) {
-                onDateSelectedListener.onDateSelected(selectedDate);
+        long baseEpochDay = clampEpochDay(EpochDays.fromCalendar(baseDate));
+        if (adapter == null) {
+            adapter = new HorizontalCalendarAdapter(baseDate, visibleRange);
+            adapter.setBaseEpochDay(baseEpochDay);
+            adapter.setMarkers(markers);
+            adapter.setMarkerColors(markerColors);
+            adapter.setDayDataLoader(dayDataLoader);
+            adapter.setRecurrenceMarkers(recurrenceMarkers);
+            adapter.setDisabledDays(disabledDays);
+            adapter.setCheckedDays(checkedDays);
+            adapter.setMetrics(metrics);
+            adapter.setCellLayout(dayCellLayout);
+            adapter.setChronology(chronology);
+            applyDayRange();
+            if (dateStrip != null) {
+                dateStrip.setAdapter(adapter);
+            } else {
+                recyclerView.setAdapter(adapter);
+                adapter.setOnDayClickListener(this::onDayClicked);
+                schedulePrewarm();
             }
-        });
+        } else {
+            adapter.setBaseEpochDay(baseEpochDay);
+            applyDayRange();
+        }
 
         currentCenterPosition = adapter.getStartPosition();
-        if (showWeekDividers) {
-            weekDividerDecoration = new WeekDividerDecoration(
-                    weekStartsOnMonday,
-                    adapter.getStartPosition()
-            );
-            recyclerView.addItemDecoration(weekDividerDecoration);
+        if (showWeekDividers && dateStrip == null) {
+            resetWeekDividers();
         }
+    }
 
-        // center once after layout pass
-        recyclerView.post(() -> scrollToDateInstant(baseDate));
+    /**
+     * Switches between a window of visibleRange days around the initial date and
+     * an unbounded window covering every supported date (optionally clamped by
+     * {@link #setMinDate(Calendar)} and {@link #setMaxDate(Calendar)}).
+     * The adapter is kept and the centered day is preserved.
+     *
+     * @param unbounded true for an effectively infinite calendar
+     */
+    public void setUnboundedRange(boolean unbounded) {
+        if (unboundedRange == unbounded) return;
+        unboundedRange = unbounded;
+        onDayRangeChanged();
     }
 
     /**
-     * Updates the displayed date based on the centered item.
+     * Sets the earliest date the calendar shows, or clears the limit.
+     *
+     * @param date earliest date, or null for no limit
      */
-    private void updateUpDate() {
-        if (layoutManager == null || adapter == null) return;
+    public void setMinDate(Calendar date) {
+        minEpochDay = date != null
+                ? EpochDays.fromCalendar(date)
+                : HorizontalCalendarAdapter.MIN_SUPPORTED_EPOCH_DAY;
+        onDayRangeChanged();
+    }
+
+    /**
+     * Sets the latest date the calendar shows, or clears the limit.
+     *
+     * @param date latest date, or null for no limit
+     */
+    public void setMaxDate(Calendar date) {
+        maxEpochDay = date != null
+                ? EpochDays.fromCalendar(date)
+                : HorizontalCalendarAdapter.MAX_SUPPORTED_EPOCH_DAY;
+        onDayRangeChanged();
+    }
+
+    /**
+     * Recomputes the adapter window after a range setting changed and keeps the
+     * centered day in place (clamped to the new limits).
+     */
+    private void onDayRangeChanged() {
+        if (adapter == null) return;
 
-        int dayOffset = currentCenterPosition - adapter.getStartPosition();
+        long centerDay = clampEpochDay(adapter.getEpochDayAt(currentCenterPosition));
+        adapter.setBaseEpochDay(clampEpochDay(EpochDays.fromCalendar(baseDate)));
+        if (applyDayRange()) {
+            if (showWeekDividers && dateStrip == null) {
+                resetWeekDividers();
+            }
+        }
+        currentCenterPosition = adapter.getPositionForEpochDay(centerDay);
+        scrollToDayInstant(centerDay);
+    }
 
-        Calendar calendar = (Calendar) baseDate.clone();
-        calendar.add(Calendar.DAY_OF_YEAR, dayOffset);
+    /**
+     * Applies the current range settings to the adapter window.
+     *
+     * @return true if the window changed
+     */
+    private boolean applyDayRange() {
+        long first;
+        long last;
+        if (unboundedRange) {
+            first = minEpochDay;
+            last = maxEpochDay;
+        } else {
+            long base = EpochDays.fromCalendar(baseDate);
+            first = Math.max(minEpochDay, base - visibleRange);
+            last = Math.min(maxEpochDay, base + visibleRange);
+        }
+        return adapter.setDayRange(first, last);
+    }
 
-        int day   = calendar.get(Calendar.DAY_OF_MONTH);
-        String month = new DateFormatSymbols().getMonths()[calendar.get(Calendar.MONTH)];
-        int year  = calendar.get(Calendar.YEAR);
+    /** Clamps an epoch day to the min/max date limits. */
+    private long clampEpochDay(long epochDay) {
+        return Math.max(minEpochDay, Math.min(epochDay, maxEpochDay));
+    }
 
-        String header = String.format(
-                java.util.Locale.getDefault(),
-                "%d %s %d",
-                day, month, year
+    /**
+     * Creates a week divider decoration anchored on the current adapter window and styled
+     * with the configured divider color, width and inset.
+     */
+    private WeekDividerDecoration createWeekDividerDecoration() {
+        int startPosition = adapter.getStartPosition();
+        WeekDividerDecoration decoration = new WeekDividerDecoration(
+                chronology.getLastDayOfWeek(weekStartsOnMonday),
+                adapter.getEpochDayAt(startPosition),
+                startPosition
         );
-
-        monthYearTextView.setText(header);
+        decoration.setColor(weekDividerColor);
+        decoration.setWidth(weekDividerWidth);
+        decoration.setInset(weekDividerInset);
+        return decoration;
     }
 
-    /** Fixes selection frame when scrolling stops. */
-    private void updateCenterPosition() {
-        if (layoutManager == null || adapter == null) return;
+    /** Re-creates the week divider decoration so it matches the current adapter window. */
+    private void resetWeekDividers() {
+        if (weekDividerDecoration != null) {
+            recyclerView.removeItemDecoration(weekDividerDecoration);
+        }
+        weekDividerDecoration = createWeekDividerDecoration();
+        recyclerView.addItemDecoration(weekDividerDecoration);
+    }
 
-        int centerX = recyclerView.getWidth() / 2;
-        int minDistance = Integer.MAX_VALUE;
-        int centerPosition = RecyclerView.NO_POSITION;
+    /**
+     * Returns the day (days since 1970-01-01) of the given date, as used by the marker API.
+     *
+     * @param date date whose year, month and day of month are used
+     * @return the epoch day
+     */
+    public static long epochDayOf(Calendar date) {
+        return EpochDays.fromCalendar(date);
+    }
 
-        for (int i = 0; i < recyclerView.getChildCount(); i++) {
-            View child = recyclerView.getChildAt(i);
-            int childCenterX = (child.getLeft() + child.getRight()) / 2;
-            int distance = Math.abs(childCenterX - centerX);
+    /**
+     * Returns a new Calendar set to midnight of the given epoch day.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the date
+     */
+    public static Calendar calendarOf(long epochDay) {
+        return EpochDays.toCalendar(epochDay);
+    }
 
-            if (distance < minDistance) {
-                minDistance = distance;
-                centerPosition = recyclerView.getChildAdapterPosition(child);
-            }
+    /**
+     * Sets the colors the mask bits of marker values select.
+     *
+     * @param colors ARGB colors; bit i of a mask selects {@code colors[i]}.
+     *               Empty restores the default palette.
+     */
+    public void setMarkerColors(int... colors) {
+        markerColors = colors == null || colors.length == 0
+                ? HorizontalCalendarAdapter.DEFAULT_MARKER_COLORS
+                : colors.clone();
+        if (adapter != null) {
+            adapter.setMarkerColors(markerColors);
         }
+    }
 
-        if (centerPosition != RecyclerView.NO_POSITION) {
-            currentCenterPosition = centerPosition;
-            adapter.setSelectedPosition(centerPosition);
-            updateUpDate();
+    /**
+     * Replaces all markers. Values are packed with {@link DayMarkers#pack(int, int)};
+     * days not listed lose their marker. Only visible cells whose value actually
+     * changed are rebound.
+     *
+     * @param epochDays days to mark (see {@link #epochDayOf(Calendar)}), in any order
+     * @param values    packed marker values, parallel to {@code epochDays}
+     */
+    public void setMarkers(long[] epochDays, int[] values) {
+        if (adapter == null) {
+            markers.setAll(epochDays, values);
+            return;
         }
-    }
 
-    /** Updates header text dynamically during scrolling. */
-    private void updateHeaderOnScroll() {
-        if (layoutManager == null || adapter == null) return;
-
-        int centerX = recyclerView.getWidth() / 2;
-        int minDistance = Integer.MAX_VALUE;
-        View closest = null;
-        for (int i = 0; i < recyclerView.getChildCount(); i++) {
-            View child = recyclerView.getChildAt(i);
-            int childCenterX = (child.getLeft() + child.getRight()) / 2;
-            int dist = Math.abs(childCenterX - centerX);
-            if (dist < minDistance) {
-                minDistance = dist;
-                closest = child;
-            }
+        int count = adapter.getItemCount();
+        int first = findFirstVisiblePosition();
+        int last = findLastVisiblePosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            markers.setAll(epochDays, values);
+            adapter.notifyItemRangeChanged(0, count, HorizontalCalendarAdapter.PAYLOAD_MARKERS);
+            return;
         }
-        if (closest == null) return;
 
-        int pos = recyclerView.getChildAdapterPosition(closest);
-        long dayOffset = pos - adapter.getStartPosition();
-        Calendar cal = (Calendar) baseDate.clone();
-        cal.add(Calendar.DAY_OF_YEAR, (int) dayOffset);
+        int[] previous = new int[last - first + 1];
+        for (int i = 0; i < previous.length; i++) {
+            previous[i] = markers.get(adapter.getEpochDayAt(first + i));
+        }
+        markers.setAll(epochDays, values);
 
-        String month = new DateFormatSymbols().getMonths()[cal.get(Calendar.MONTH)];
-        String header = String.format(
-                Locale.getDefault(),
-                "%d %s %d",
-                cal.get(Calendar.DAY_OF_MONTH),
-                month,
-                cal.get(Calendar.YEAR)
-        );
-        monthYearTextView.setText(header);
+        // Nothing is bound off screen; these only flag cached holders for a rebind
+        if (first > 0) {
+            adapter.notifyItemRangeChanged(0, first, HorizontalCalendarAdapter.PAYLOAD_MARKERS);
+        }
+        if (last < count - 1) {
+            adapter.notifyItemRangeChanged(last + 1, count - last - 1, HorizontalCalendarAdapter.PAYLOAD_MARKERS);
+        }
+        for (int i = 0; i < previous.length; i++) {
+            if (markers.get(adapter.getEpochDayAt(first + i)) != previous[i]) {
+                adapter.notifyItemChanged(first + i, HorizontalCalendarAdapter.PAYLOAD_MARKERS);
+            }
+        }
     }
 
     /**
-     * Returns the currently selected (centered) calendar date.
+     * Sets the marker of one day; the cell is rebound only if the value changed.
      *
-     * @return a new Calendar instance representing the selected date
+     * @param epochDay day to mark
+     * @param value    packed marker value, 0 to remove
      */
-    public Calendar getSelectedDate() {
-        if (adapter == null) return null;
+    public void setMarker(long epochDay, int value) {
+        if (markers.put(epochDay, value) != value && adapter != null) {
+            adapter.notifyMarkerChanged(epochDay);
+        }
+    }
 
-        int dayOffset = currentCenterPosition - adapter.getStartPosition();
-        Calendar selected = (Calendar) baseDate.clone();
-        selected.add(Calendar.DAY_OF_YEAR, dayOffset);
-        return selected;
+    /**
+     * Removes the marker of one day.
+     *
+     * @param epochDay day to clear
+     */
+    public void removeMarker(long epochDay) {
+        setMarker(epochDay, 0);
     }
 
+    /** Removes all markers. */
+    public void clearMarkers() {
+        setMarkers(new long[0], new int[0]);
+    }
 
     /**
-     * Enables or disables week dividers.
+     * Returns the packed marker value of a day.
      *
-     * @param enabled true to show, false to hide
+     * @param epochDay day to look up
+     * @return the value, or 0 if the day has no marker
      */
-     public void setShowWeekDividers(boolean enabled){
-         if (adapter == null) return;
-         if (enabled) {
-             if (weekDividerDecoration == null) {
-                 weekDividerDecoration = new WeekDividerDecoration(
-                         weekStartsOnMonday,
-                         adapter.getStartPosition()
-                 );
-                 recyclerView.addItemDecoration(weekDividerDecoration);
-             }
-         } else {
-             if (weekDividerDecoration != null) {
-                 recyclerView.removeItemDecoration(weekDividerDecoration);
-                 weekDividerDecoration = null;
-             }
-         }
-         this.showWeekDividers = enabled;
-     }
+    public int getMarker(long epochDay) {
+        return markers.get(epochDay);
+    }
 
     /**
-     * Sets whether weeks should start on Monday.
+     * Marks every day the rule falls on with the given value, merged with other markers.
+     * Rules are evaluated only for the months of the days being shown, so long or
+     * unbounded ranges cost no more than short ones.
      *
-     * @param startsOnMonday true if week starts Monday, false if Sunday
+     * @param rule  recurrence, e.g. {@code RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=-1FR", start)}
+     * @param value packed marker value (see {@link DayMarkers#pack(int, int)})
      */
-    public void setWeekStartsOnMonday(boolean startsOnMonday){
-        this.weekStartsOnMonday = startsOnMonday;
+    public void addRecurringMarker(RecurrenceRule rule, int value) {
+        recurrenceMarkers.add(rule, value);
+        notifyAllMarkersChanged();
+    }
+
+    /**
+     * Removes the markers of a rule added with {@link #addRecurringMarker}.
+     *
+     * @param rule the rule to remove
+     */
+    public void removeRecurringMarker(RecurrenceRule rule) {
+        if (recurrenceMarkers.remove(rule)) {
+            notifyAllMarkersChanged();
+        }
+    }
+
+    /** Removes all recurrence rules. */
+    public void clearRecurringMarkers() {
+        if (recurrenceMarkers.size() == 0) return;
+        recurrenceMarkers.clear();
+        notifyAllMarkersChanged();
+    }
+
+    /** Rebinds the markers of all cells; off-screen ones only get flagged. */
+    private void notifyAllMarkersChanged() {
+        if (adapter != null) {
+            adapter.notifyItemRangeChanged(0, adapter.getItemCount(), HorizontalCalendarAdapter.PAYLOAD_MARKERS);
+        }
+    }
+
+    /**
+     * Loads marker values from the given source on a shared background thread.
+     *
+     * @param source data source, or null to stop loading
+     * @see #setDayDataSource(DayDataSource, Executor)
+     */
+    public void setDayDataSource(DayDataSource source) {
+        setDayDataSource(source, null);
+    }
+
+    /**
+     * Loads marker values from the given source in pages of {@link DayDataSource#PAGE_SIZE}
+     * days around the visible days, prefetching in the scroll direction. Loaded values are
+     * merged with markers set through {@link #setMarkers(long[], int[])}.
+     *
+     * @param source   data source, or null to stop loading
+     * @param executor executor running {@link DayDataSource#loadDays(long, int[])},
+     *                 or null for a shared single background thread
+     */
+    public void setDayDataSource(DayDataSource source, Executor executor) {
+        if (dayDataLoader != null) {
+            dayDataLoader.invalidate();
+        }
+        dayDataLoader = source != null
+                ? new DayDataLoader(source, executor, this::onDayDataLoaded)
+                : null;
+        if (adapter != null) {
+            adapter.setDayDataLoader(dayDataLoader);
+            adapter.notifyItemRangeChanged(0, adapter.getItemCount(), HorizontalCalendarAdapter.PAYLOAD_MARKERS);
+            requestDayData(0);
+        }
+    }
+
+    /**
+     * Discards loaded day data and reloads the visible pages, e.g. after the underlying
+     * database changed.
+     */
+    public void invalidateDayData() {
+        if (dayDataLoader == null) return;
+        dayDataLoader.invalidate();
+        if (adapter != null) {
+            adapter.notifyItemRangeChanged(0, adapter.getItemCount(), HorizontalCalendarAdapter.PAYLOAD_MARKERS);
+            requestDayData(0);
+        }
+    }
+
+    /**
+     * Asks the loader for the pages of the visible days and, depending on the scroll
+     * direction and speed, the pages ahead of them.
+     *
+     * @param dx last scroll delta in pixels; 0 when idle
+     */
+    private void requestDayData(int dx) {
+        if (dayDataLoader == null || adapter == null || adapter.getItemCount() == 0) return;
+
+        int first = findFirstVisiblePosition();
+        int last = findLastVisiblePosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            first = currentCenterPosition;
+            last = currentCenterPosition;
+        }
+        int cellWidth = dateStrip != null ? dateStrip.getCellWidth() : layoutManager.getCellWidth();
+        dayDataLoader.requestDays(adapter.getEpochDayAt(first), adapter.getEpochDayAt(last), dx, cellWidth);
+    }
+
+    /**
+     * Rebinds the markers of a freshly loaded page. RecyclerView only rebinds holders it
+     * has for these positions, so a prefetched page that is not on screen costs no binds.
+     */
+    private void onDayDataLoaded(long firstEpochDay, int dayCount) {
+        if (adapter == null || adapter.getItemCount() == 0) return;
+
+        long windowFirst = adapter.getEpochDayAt(0);
+        long windowLast = adapter.getEpochDayAt(adapter.getItemCount() - 1);
+        long first = Math.max(firstEpochDay, windowFirst);
+        long last = Math.min(firstEpochDay + dayCount - 1, windowLast);
+        if (first > last) return;
+
+        adapter.notifyItemRangeChanged(
+                adapter.getPositionForEpochDay(first),
+                (int) (last - first + 1),
+                HorizontalCalendarAdapter.PAYLOAD_MARKERS
+        );
+    }
+
+    /**
+     * Saves the base date, the centered day, the range settings and the multiple/range
+     * selection as epoch days. The inner views save nothing, so several calendars on one
+     * screen never mix up their states.
+     */
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        SavedState state = new SavedState(super.onSaveInstanceState());
+        state.baseEpochDay = EpochDays.fromCalendar(baseDate);
+        state.selectedEpochDay = adapter != null
+                ? adapter.getEpochDayAt(currentCenterPosition)
+                : state.baseEpochDay;
+        state.visibleRange = visibleRange;
+        state.unboundedRange = unboundedRange;
+        state.minEpochDay = minEpochDay;
+        state.maxEpochDay = maxEpochDay;
+        state.selectionMode = selectionMode;
+        state.checkedRanges = checkedDays.toRanges();
+        state.rangeAnchor = rangeAnchor;
+        state.rangeFirst = rangeFirst;
+        state.rangeLast = rangeLast;
+        return state;
+    }
+
+    /**
+     * Restores a state saved by {@link #onSaveInstanceState()}. The restored day is centered
+     * by the next layout pass, so no frame shows another day.
+     */
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        SavedState saved = (SavedState) state;
+        super.onRestoreInstanceState(saved.getSuperState());
+
+        visibleRange = saved.visibleRange;
+        unboundedRange = saved.unboundedRange;
+        minEpochDay = saved.minEpochDay;
+        maxEpochDay = saved.maxEpochDay;
+        selectionMode = saved.selectionMode;
+        checkedDays.clear();
+        for (int i = 0; i + 1 < saved.checkedRanges.length; i += 2) {
+            checkedDays.set(saved.checkedRanges[i], saved.checkedRanges[i + 1], true);
+        }
+        rangeAnchor = saved.rangeAnchor;
+        rangeFirst = saved.rangeFirst;
+        rangeLast = saved.rangeLast;
+
+        boolean hadAdapter = adapter != null;
+        applyBaseDate(EpochDays.toCalendar(saved.baseEpochDay));
+        if (hadAdapter && adapter.getItemCount() > 0) {
+            adapter.notifyItemRangeChanged(0, adapter.getItemCount(), HorizontalCalendarAdapter.PAYLOAD_SELECTION);
+        }
+        scrollToDayInstant(saved.selectedEpochDay);
+    }
+
+    @Override
+    protected void dispatchSaveInstanceState(SparseArray<Parcelable> container) {
+        dispatchFreezeSelfOnly(container);
+    }
+
+    @Override
+    protected void dispatchRestoreInstanceState(SparseArray<Parcelable> container) {
+        dispatchThawSelfOnly(container);
+    }
+
+    /** Compact saved state: epoch days, range settings and the selection. */
+    static class SavedState extends BaseSavedState {
+        long baseEpochDay;
+        long selectedEpochDay;
+        int visibleRange;
+        boolean unboundedRange;
+        long minEpochDay;
+        long maxEpochDay;
+        int selectionMode;
+        long[] checkedRanges = new long[0];
+        long rangeAnchor;
+        long rangeFirst;
+        long rangeLast;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            baseEpochDay = in.readLong();
+            selectedEpochDay = in.readLong();
+            visibleRange = in.readInt();
+            unboundedRange = in.readInt() != 0;
+            minEpochDay = in.readLong();
+            maxEpochDay = in.readLong();
+            selectionMode = in.readInt();
+            checkedRanges = in.createLongArray();
+            rangeAnchor = in.readLong();
+            rangeFirst = in.readLong();
+            rangeLast = in.readLong();
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeLong(baseEpochDay);
+            out.writeLong(selectedEpochDay);
+            out.writeInt(visibleRange);
+            out.writeInt(unboundedRange ? 1 : 0);
+            out.writeLong(minEpochDay);
+            out.writeLong(maxEpochDay);
+            out.writeInt(selectionMode);
+            out.writeLongArray(checkedRanges);
+            out.writeLong(rangeAnchor);
+            out.writeLong(rangeFirst);
+            out.writeLong(rangeLast);
+        }
+
+        public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    /**
+     * Re-renders the header in the new locale for apps that handle locale changes themselves.
+     */
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        headerKey = Long.MIN_VALUE;
+        updateUpDate();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        requestDayData(0);
+        schedulePrewarm();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (dayDataLoader != null) {
+            dayDataLoader.cancelPending();
+        }
+        frameTracker.stop();
+        endSmoothScrollTrace();
+        cancelPrewarm();
+        selectionDispatcher.cancelPending();
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Registers a receiver for bind, header, selection, smooth scroll and frame timings.
+     * With no receiver registered, none of these are measured.
+     *
+     * @param metrics metrics receiver, or null to stop measuring
+     */
+    public void setMetrics(HorizontalCalendarMetrics metrics) {
+        this.metrics = metrics;
+        smoothScrollStartNanos = 0;
+        if (metrics == null) {
+            frameTracker.stop();
+        }
+        if (adapter != null) {
+            adapter.setMetrics(metrics);
+        }
+    }
+
+    /**
+     * Inflates the given layout for each day cell instead of drawing cells with the
+     * code-built {@link DateCellView}. The layout must contain TextViews with the ids
+     * {@code text_day_of_week} and {@code text_day}, and may contain a {@link DayMarkerView}
+     * with the id {@code marker_dots}; {@code R.layout.item_date} is the classic cell.
+     * Inflated cells are slower to create and lay out. Has no effect in
+     * {@link #RENDER_MODE_CANVAS}.
+     *
+     * @param layoutRes layout resource, or 0 for the code-built cells
+     */
+    public void setDayCellLayout(@LayoutRes int layoutRes) {
+        if (dayCellLayout == layoutRes) return;
+        dayCellLayout = layoutRes;
+        if (viewPool != null) {
+            viewPool.ensureCapacity(HorizontalCalendarAdapter.cellViewType(layoutRes), 0);
+        }
+        if (adapter != null && dateStrip == null) {
+            adapter.setCellLayout(layoutRes);
+        }
+    }
+
+    /**
+     * Makes this calendar take its day cells from, and return them to, the given pool, and
+     * use its prefetch count. Give several calendars on one screen the same pool so that they
+     * share cells instead of each keeping a full set. Cells of a calendar detached from the
+     * window go back to a shared pool. Has no effect in {@link #RENDER_MODE_CANVAS}.
+     *
+     * @param pool shared pool, or null to go back to a pool of this calendar's own
+     */
+    public void setViewPool(CalendarViewPool pool) {
+        if (layoutManager == null) return;
+        viewPool = pool != null ? pool : new CalendarViewPool();
+        applyViewPool(pool != null);
+        if (pool != null) {
+            pool.ensureCapacity(HorizontalCalendarAdapter.cellViewType(dayCellLayout), expectedHolderCount());
+        }
+    }
+
+    private void applyViewPool(boolean shared) {
+        recyclerView.setRecycledViewPool(viewPool.getRecycledViewPool());
+        layoutManager.setInitialPrefetchItemCount(viewPool.getPrefetchItemCount());
+        layoutManager.setRecycleChildrenOnDetach(shared);
+    }
+
+    /**
+     * Creates as many day cells as one screen of this calendar needs ahead of the first
+     * scroll, one per idle pass of the main thread, so that the first fling does not inflate.
+     * Cells already in the pool count towards the total. Has no effect in
+     * {@link #RENDER_MODE_CANVAS}.
+     */
+    public void prewarmViewHolders() {
+        prewarmViewHolders(expectedHolderCount());
+    }
+
+    /**
+     * Creates day cells ahead of the first scroll, one per idle pass of the main thread,
+     * until the calendar and its pool hold {@code count} cells. Starts once
+     * {@link #setInitialDate(Calendar)} has been called and the calendar is attached.
+     * Has no effect in {@link #RENDER_MODE_CANVAS}.
+     *
+     * @param count number of cells to have available, or 0 to stop pre-warming
+     */
+    public void prewarmViewHolders(int count) {
+        if (layoutManager == null) return;
+        prewarmTarget = Math.max(0, count);
+        if (prewarmTarget == 0) {
+            cancelPrewarm();
+            return;
+        }
+        viewPool.ensureCapacity(HorizontalCalendarAdapter.cellViewType(dayCellLayout), prewarmTarget);
+        if (isAttachedToWindow()) {
+            schedulePrewarm();
+        }
+    }
+
+    /**
+     * Returns the number of cells one screen binds: the cells across the width, a partial
+     * cell on each side and the prefetched ones.
+     */
+    private int expectedHolderCount() {
+        int width = getWidth() > 0 ? getWidth() : getResources().getDisplayMetrics().widthPixels;
+        int cellWidth = layoutManager.getCellWidth();
+        if (cellWidth <= 0) {
+            cellWidth = Math.round(DEFAULT_CELL_WIDTH_DP * getResources().getDisplayMetrics().density);
+        }
+        return width / cellWidth + 2 + viewPool.getPrefetchItemCount();
+    }
+
+    private void schedulePrewarm() {
+        if (prewarmTarget == 0 || prewarmHandler != null || adapter == null || layoutManager == null) {
+            return;
+        }
+        prewarmHandler = () -> {
+            if (prewarmOneHolder()) return true;
+            prewarmHandler = null;
+            return false;
+        };
+        Looper.myQueue().addIdleHandler(prewarmHandler);
+    }
+
+    private void cancelPrewarm() {
+        if (prewarmHandler == null) return;
+        Looper.myQueue().removeIdleHandler(prewarmHandler);
+        prewarmHandler = null;
+    }
+
+    /**
+     * Creates one cell into the pool unless the target is reached.
+     *
+     * @return true if more cells are needed
+     */
+    private boolean prewarmOneHolder() {
+        if (adapter == null || !isAttachedToWindow()) return false;
+        int viewType = HorizontalCalendarAdapter.cellViewType(dayCellLayout);
+        if (recyclerView.getChildCount() + viewPool.getPooledCount(viewType) >= prewarmTarget) {
+            prewarmTarget = 0;
+            return false;
+        }
+        viewPool.put(adapter.createViewHolder(recyclerView, viewType));
+        return true;
+    }
+
+    /**
+     * Turns trace sections around binding, header updates, selection, decoration drawing and
+     * smooth scrolls on or off for all calendars, e.g. for a Perfetto capture. Off by default;
+     * while off the sections cost a single field read. Call from the main thread.
+     * Smooth scroll sections are emitted on API 29 and later only.
+     *
+     * @param enabled true to emit trace sections
+     */
+    public static void setTracingEnabled(boolean enabled) {
+        CalendarTrace.enabled = enabled;
+    }
+
+    /**
+     * Sets how taps and drags pick days. Changing the mode clears the multiple/range selection.
+     *
+     * @param mode one of {@link #SELECTION_MODE_SINGLE}, {@link #SELECTION_MODE_MULTIPLE}
+     *             or {@link #SELECTION_MODE_RANGE}
+     */
+    public void setSelectionMode(@SelectionMode int mode) {
+        if (selectionMode == mode) return;
+        selectionMode = mode;
+        clearSelection();
+    }
+
+    /**
+     * Returns the current selection mode.
+     */
+    @SelectionMode
+    public int getSelectionMode() {
+        return selectionMode;
+    }
+
+    /**
+     * Returns the days picked in multiple or range mode as inclusive epoch day ranges.
+     *
+     * @return {@code [first0, last0, first1, last1, ...]}, ascending; empty if nothing is picked
+     */
+    public long[] getSelectedRanges() {
+        return checkedDays.toRanges();
+    }
+
+    /**
+     * Returns whether the day is picked in multiple or range mode.
+     *
+     * @param epochDay day to check
+     * @return true if the day is part of the selection
+     */
+    public boolean isDaySelected(long epochDay) {
+        return checkedDays.contains(epochDay);
+    }
+
+    /**
+     * Adds days to or removes them from the multiple/range selection. In range mode the
+     * selection is replaced by {@code firstEpochDay..lastEpochDay}. Listeners are not notified.
+     *
+     * @param firstEpochDay first day (inclusive)
+     * @param lastEpochDay  last day (inclusive)
+     * @param selected      true to select, false to deselect
+     */
+    public void setDaysSelected(long firstEpochDay, long lastEpochDay, boolean selected) {
+        if (selectionMode == SELECTION_MODE_RANGE && selected) {
+            rangeAnchor = DayRangeSet.NONE;
+            setRange(firstEpochDay, lastEpochDay);
+        } else {
+            setDaysChecked(firstEpochDay, lastEpochDay, selected);
+            if (selectionMode == SELECTION_MODE_RANGE) {
+                rangeFirst = rangeLast = rangeAnchor = DayRangeSet.NONE;
+            }
+        }
+    }
+
+    /** Clears the multiple/range selection. Listeners are not notified. */
+    public void clearSelection() {
+        long[] ranges = checkedDays.toRanges();
+        for (int i = 0; i < ranges.length; i += 2) {
+            setDaysChecked(ranges[i], ranges[i + 1], false);
+        }
+        checkedDays.clear();
+        rangeAnchor = rangeFirst = rangeLast = DayRangeSet.NONE;
+    }
+
+    /**
+     * Extends the range from {@link #rangeAnchor} to the given day, stopping before the
+     * first disabled day in between.
+     */
+    private void extendRange(long day) {
+        if (rangeAnchor == DayRangeSet.NONE) return;
+
+        if (day >= rangeAnchor) {
+            long blocked = disabledDays.firstInside(rangeAnchor, day);
+            setRange(rangeAnchor, blocked != DayRangeSet.NONE ? blocked - 1 : day);
+        } else {
+            long blocked = disabledDays.lastInside(day, rangeAnchor);
+            setRange(blocked != DayRangeSet.NONE ? blocked + 1 : day, rangeAnchor);
+        }
+    }
+
+    /**
+     * Replaces the range selection; only days entering or leaving the selection are rebound.
+     */
+    private void setRange(long first, long last) {
+        if (first > last) return;
+        if (rangeFirst != DayRangeSet.NONE) {
+            if (rangeFirst < first) {
+                setDaysChecked(rangeFirst, Math.min(rangeLast, first - 1), false);
+            }
+            if (rangeLast > last) {
+                setDaysChecked(Math.max(rangeFirst, last + 1), rangeLast, false);
+            }
+        }
+        setDaysChecked(first, last, true);
+        rangeFirst = first;
+        rangeLast = last;
+    }
+
+    /**
+     * Selects or deselects days and rebinds, with a selection payload, only the runs of
+     * positions whose state actually changed.
+     */
+    private void setDaysChecked(long first, long last, boolean checked) {
+        if (first > last) return;
+        if (adapter == null || adapter.getItemCount() == 0) {
+            checkedDays.set(first, last, checked);
+            return;
+        }
+
+        long from = Math.max(first, adapter.getEpochDayAt(0));
+        long to = Math.min(last, adapter.getEpochDayAt(adapter.getItemCount() - 1));
+        long runStart = DayRangeSet.NONE;
+        for (long day = from; day <= to + 1; day++) {
+            boolean changes = day <= to && checkedDays.contains(day) != checked;
+            if (changes && runStart == DayRangeSet.NONE) {
+                runStart = day;
+            } else if (!changes && runStart != DayRangeSet.NONE) {
+                adapter.notifyItemRangeChanged(
+                        adapter.getPositionForEpochDay(runStart),
+                        (int) (day - runStart),
+                        HorizontalCalendarAdapter.PAYLOAD_SELECTION
+                );
+                runStart = DayRangeSet.NONE;
+            }
+        }
+        // Notifications are queued, so updating the bitset after them is safe
+        checkedDays.set(first, last, checked);
+    }
+
+    private void dispatchSelectionChanged() {
+        if (onSelectionChangedListener != null) {
+            onSelectionChangedListener.onSelectionChanged(checkedDays.toRanges());
+        }
+    }
+
+    /**
+     * Disables every day from {@code firstEpochDay} to {@code lastEpochDay} (inclusive).
+     * Overlapping and adjacent ranges are merged.
+     *
+     * @param firstEpochDay first disabled day (see {@link #epochDayOf(Calendar)})
+     * @param lastEpochDay  last disabled day
+     */
+    public void addDisabledRange(long firstEpochDay, long lastEpochDay) {
+        disabledDays.add(firstEpochDay, lastEpochDay);
+        onDisabledDaysChanged();
+    }
+
+    /**
+     * Disables every day from {@code from} to {@code to} (inclusive).
+     *
+     * @param from first disabled date
+     * @param to   last disabled date
+     */
+    public void addDisabledRange(Calendar from, Calendar to) {
+        if (from == null || to == null) return;
+        addDisabledRange(EpochDays.fromCalendar(from), EpochDays.fromCalendar(to));
+    }
+
+    /**
+     * Replaces all disabled ranges. Ranges may be unsorted and overlapping; a range whose
+     * first day is after its last day is ignored.
+     *
+     * @param firstEpochDays first day of each range
+     * @param lastEpochDays  last day (inclusive) of each range, parallel to {@code firstEpochDays}
+     */
+    public void setDisabledRanges(long[] firstEpochDays, long[] lastEpochDays) {
+        disabledDays.setAll(firstEpochDays, lastEpochDays);
+        onDisabledDaysChanged();
+    }
+
+    /** Enables every day again. */
+    public void clearDisabledRanges() {
+        disabledDays.clear();
+        onDisabledDaysChanged();
+    }
+
+    /**
+     * Returns whether the given day can be selected.
+     *
+     * @param epochDay day to check
+     * @return false if the day lies in a disabled range
+     */
+    public boolean isDayEnabled(long epochDay) {
+        return !disabledDays.contains(epochDay);
+    }
+
+    /**
+     * Redraws the enabled state of bound cells and moves off the centered day if it
+     * became disabled.
+     */
+    private void onDisabledDaysChanged() {
+        if (adapter == null) return;
+
+        adapter.notifyItemRangeChanged(0, adapter.getItemCount(), HorizontalCalendarAdapter.PAYLOAD_ENABLED);
+        int scrollState = dateStrip != null ? dateStrip.getScrollState() : recyclerView.getScrollState();
+        if (scrollState == RecyclerView.SCROLL_STATE_IDLE) {
+            updateCenterPosition();
+        }
+    }
+
+    /**
+     * Returns the position of the enabled day nearest to the given day, within the window.
+     * If no day in the window is enabled, the position of the day itself (clamped) is returned.
+     */
+    private int findEnabledPosition(long epochDay) {
+        int position = adapter.getPositionForEpochDay(epochDay);
+        if (adapter.getItemCount() == 0) return position;
+
+        long day = disabledDays.nearestOutside(
+                adapter.getEpochDayAt(position),
+                adapter.getEpochDayAt(0),
+                adapter.getEpochDayAt(adapter.getItemCount() - 1)
+        );
+        return day != DayRangeSet.NONE ? adapter.getPositionForEpochDay(day) : position;
+    }
+
+    /** Returns the first adapter position with a cell on screen in either render mode. */
+    private int findFirstVisiblePosition() {
+        if (dateStrip != null) return dateStrip.getFirstVisiblePosition();
+        if (layoutManager == null) return RecyclerView.NO_POSITION;
+        return layoutManager.findFirstAttachedPosition();
+    }
+
+    /** Returns the last adapter position with a cell on screen in either render mode. */
+    private int findLastVisiblePosition() {
+        if (dateStrip != null) return dateStrip.getLastVisiblePosition();
+        if (layoutManager == null) return RecyclerView.NO_POSITION;
+        return layoutManager.findLastAttachedPosition();
+    }
+
+    /**
+     * Updates the displayed date based on the centered item.
+     */
+    private void updateUpDate() {
+        if (adapter == null) return;
+
+        renderHeader(adapter.getEpochDayAt(currentCenterPosition));
+    }
+
+    /**
+     * Renders the header for the given day if its text differs from what is shown.
+     * The text is built in a reused buffer and drawn by {@link MonthYearHeaderView},
+     * which never requests a layout.
+     *
+     * @param epochDay the centered day
+     */
+    private void renderHeader(long epochDay) {
+        CalendarChronology chronology = this.chronology;
+        int era = chronology.getEra(epochDay);
+        int year = chronology.getYearOfEra(epochDay);
+        long eraYear = era * 100_000L + year;
+        long key;
+        switch (headerGranularity) {
+            case HEADER_GRANULARITY_YEAR:
+                key = eraYear;
+                break;
+            case HEADER_GRANULARITY_MONTH:
+                key = eraYear * 12L + chronology.getMonth(epochDay);
+                break;
+            default:
+                key = epochDay;
+                break;
+        }
+        LocaleLabelCache.Labels labels = LocaleLabelCache.forDefaultLocale(chronology);
+        if (key == headerKey && labels == headerLabels) return;
+        headerKey = key;
+        headerLabels = labels;
+        long start = metrics != null ? System.nanoTime() : 0;
+
+        StringBuilder header = headerBuffer;
+        header.setLength(0);
+        if (headerGranularity == HEADER_GRANULARITY_DAY) {
+            header.append(labels.dayNumbers[chronology.getDayOfMonth(epochDay)])
+                    .append(' ')
+                    .append(labels.months[chronology.getMonth(epochDay)])
+                    .append(' ');
+        } else if (headerGranularity == HEADER_GRANULARITY_MONTH) {
+            header.append(labels.standaloneMonths[chronology.getMonth(epochDay)])
+                    .append(' ');
+        }
+        String eraName = chronology.getEraName(era, labels.locale);
+        if (eraName != null) {
+            header.append(eraName).append(' ');
+        }
+        if (year < 0) {
+            header.append('-');
+        }
+        labels.appendNumber(header, Math.abs(year));
+
+        monthYearHeader.setText(header);
+        if (metrics != null) {
+            metrics.onHeaderUpdated(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns the adapter position under the center of the strip in either render mode.
+     */
+    private int findCenterPosition() {
+        if (dateStrip != null) return dateStrip.getCenterPosition();
+        if (layoutManager == null) return RecyclerView.NO_POSITION;
+        return layoutManager.findCenterPosition();
+    }
+
+    /**
+     * Selects the centered day once scrolling stops and measures frames while it runs.
+     * Shared by both render modes.
+     */
+    private void onScrollStateChanged(int newState) {
+        if (group != null && !group.onMemberScrollStateChanged(this, newState)) return;
+
+        HorizontalCalendarMetrics metrics = this.metrics;
+        if (newState != RecyclerView.SCROLL_STATE_IDLE) {
+            if (group == null) selectionDispatcher.onScrollStarted();
+            if (metrics != null) {
+                frameTracker.start(metrics, getDisplay() != null ? getDisplay().getRefreshRate() : 60f);
+            }
+            return;
+        }
+
+        frameTracker.stop();
+        endSmoothScrollTrace();
+        if (metrics == null) {
+            updateCenterPosition();
+            return;
+        }
+
+        long idleNanos = System.nanoTime();
+        if (smoothScrollStartNanos != 0) {
+            metrics.onSmoothScrollFinished(idleNanos - smoothScrollStartNanos, smoothScrollDays);
+            smoothScrollStartNanos = 0;
+        }
+        updateCenterPosition();
+        metrics.onSelectionSettled(System.nanoTime() - idleNanos);
+    }
+
+    /** Closes the trace section of the running smooth scroll, if any. */
+    private void endSmoothScrollTrace() {
+        CalendarTrace.endAsyncSection(CalendarTrace.SMOOTH_SCROLL, smoothScrollTraceCookie);
+        smoothScrollTraceCookie = 0;
+    }
+
+    /** Fixes selection frame when scrolling stops. */
+    private void updateCenterPosition() {
+        if (adapter == null) return;
+
+        boolean traced = CalendarTrace.beginSection(CalendarTrace.UPDATE_CENTER);
+        try {
+            selectCenterPosition();
+        } finally {
+            CalendarTrace.endSection(traced);
+        }
+    }
+
+    private void selectCenterPosition() {
+        int centerPosition = findCenterPosition();
+        if (centerPosition != RecyclerView.NO_POSITION) {
+            int enabledPosition = findEnabledPosition(adapter.getEpochDayAt(centerPosition));
+            if (enabledPosition != centerPosition) {
+                // Settled on a disabled day: move on and select once that scroll ends
+                scrollToPositionSmooth(enabledPosition);
+                return;
+            }
+            currentCenterPosition = centerPosition;
+            adapter.setSelectedPosition(centerPosition);
+            updateUpDate();
+            requestDayData(0);
+            onDaySettled(adapter.getEpochDayAt(centerPosition));
+        }
+    }
+
+    /**
+     * Reports the settled day to the listeners, or to the group, which notifies its own.
+     */
+    private void onDaySettled(long epochDay) {
+        if (group != null) {
+            group.onMemberSettled(this, epochDay);
+        } else {
+            selectionDispatcher.onDaySettled(epochDay);
+        }
+    }
+
+    /**
+     * Updates the header and loads day data as the cells move. A grouped calendar leaves
+     * this to the group, which ignores the scrolls of members it moves itself.
+     */
+    private void onCellsScrolled(int dx) {
+        if (group != null) {
+            group.onMemberScrolled(this, dx);
+            return;
+        }
+        updateHeaderOnScroll();
+        requestDayData(dx);
+    }
+
+    // Hooks for HorizontalCalendarGroup
+
+    /**
+     * Returns the centered day, or {@link HorizontalCalendarGroup#NO_DAY} before the first
+     * layout.
+     */
+    long getGroupAnchorDay() {
+        if (adapter == null) return HorizontalCalendarGroup.NO_DAY;
+        int position = findCenterPosition();
+        if (position == RecyclerView.NO_POSITION || getGroupCellWidth() == 0) {
+            return HorizontalCalendarGroup.NO_DAY;
+        }
+        return adapter.getEpochDayAt(position);
+    }
+
+    /**
+     * Returns how far the cell of the given day is from the center, in pixels.
+     */
+    int getGroupAnchorOffset(long epochDay) {
+        int position = adapter.getPositionForEpochDay(epochDay);
+        if (dateStrip != null) return dateStrip.getDistanceToCenter(position);
+        return layoutManager.getDistanceToCenter(position);
+    }
+
+    /**
+     * Returns the width of one day cell, or 0 before the first layout.
+     */
+    int getGroupCellWidth() {
+        if (dateStrip != null) return dateStrip.getCellWidth();
+        return layoutManager != null ? layoutManager.getCellWidth() : 0;
+    }
+
+    /**
+     * Scrolls so that the given day is as far from the center as in the driving calendar,
+     * without reporting the scroll.
+     *
+     * @param epochDay  day centered in the driver
+     * @param offset    distance of that day's cell from the driver's center
+     * @param cellWidth driver's cell width, to scale the offset to this calendar's cells
+     */
+    void followGroupAnchor(long epochDay, int offset, int cellWidth) {
+        if (adapter == null) return;
+
+        int ownCellWidth = getGroupCellWidth();
+        int position = adapter.getPositionForEpochDay(epochDay);
+        if (ownCellWidth == 0) {
+            // Not laid out yet: center the day once it is
+            if (layoutManager != null) layoutManager.scrollToCenter(position);
+            return;
+        }
+        if (cellWidth != ownCellWidth && cellWidth != 0) {
+            offset = (int) ((long) offset * ownCellWidth / cellWidth);
+        }
+        int dx = getGroupAnchorOffset(epochDay) - offset;
+        if (dx == 0) return;
+
+        if (dateStrip != null) {
+            dateStrip.scrollByDistance(dx);
+        } else if (Math.abs(dx) > recyclerView.getWidth()) {
+            // Lay out around the day instead of binding every cell on the way
+            layoutManager.scrollToCenter(position);
+        } else {
+            recyclerView.scrollBy(dx, 0);
+        }
+    }
+
+    /**
+     * Does the per-scroll work the group keeps per member.
+     *
+     * @param showsHeader whether this member shows the group's header
+     */
+    void onGroupScrolled(int dx, boolean showsHeader) {
+        if (showsHeader) updateHeaderOnScroll();
+        requestDayData(dx);
+    }
+
+    /**
+     * Centers and selects the day the driver settled on, without notifying listeners.
+     */
+    void settleOnGroupDay(long epochDay, boolean showsHeader) {
+        if (adapter == null) return;
+
+        followGroupAnchor(epochDay, 0, 0);
+        int position = adapter.getPositionForEpochDay(epochDay);
+        currentCenterPosition = position;
+        adapter.setSelectedPosition(position);
+        if (showsHeader) updateUpDate();
+        requestDayData(0);
+    }
+
+    /**
+     * Sets whether this member runs its own snapping and shows its header. Members following
+     * the driver must not snap, or they would settle away from it.
+     */
+    void setGroupRole(boolean driving, boolean showsHeader) {
+        if (snapHelper != null && recyclerView != null) {
+            snapHelper.attachToRecyclerView(driving ? recyclerView : null);
+        }
+        monthYearHeader.setVisibility(showsHeader ? VISIBLE : GONE);
+    }
+
+    /** Stops a fling of a member that no longer drives the group. */
+    void stopGroupScroll() {
+        if (dateStrip != null) {
+            dateStrip.stopScroll();
+        } else if (recyclerView != null) {
+            recyclerView.stopScroll();
+        }
+    }
+
+    /** Updates header text dynamically during scrolling. */
+    private void updateHeaderOnScroll() {
+        if (adapter == null) return;
+
+        boolean traced = CalendarTrace.beginSection(CalendarTrace.UPDATE_HEADER);
+        try {
+            int pos = findCenterPosition();
+            if (pos == RecyclerView.NO_POSITION) return;
+
+            renderHeader(adapter.getEpochDayAt(pos));
+        } finally {
+            CalendarTrace.endSection(traced);
+        }
+    }
+
+    /**
+     * Returns the currently selected (centered) calendar date.
+     *
+     * @return a new Calendar instance representing the selected date
+     */
+    public Calendar getSelectedDate() {
+        if (adapter == null) return null;
+
+        return EpochDays.toCalendar(adapter.getEpochDayAt(currentCenterPosition));
+    }
+
+
+    /**
+     * Enables or disables week dividers.
+     *
+     * @param enabled true to show, false to hide
+     */
+     public void setShowWeekDividers(boolean enabled){
+         if (dateStrip != null) {
+             dateStrip.setShowWeekDividers(enabled);
+             this.showWeekDividers = enabled;
+             return;
+         }
+         if (adapter == null) return;
+         if (enabled) {
+             if (weekDividerDecoration == null) {
+                 weekDividerDecoration = createWeekDividerDecoration();
+                 recyclerView.addItemDecoration(weekDividerDecoration);
+             }
+         } else {
+             if (weekDividerDecoration != null) {
+                 recyclerView.removeItemDecoration(weekDividerDecoration);
+                 weekDividerDecoration = null;
+             }
+         }
+         this.showWeekDividers = enabled;
+     }
+
+    /**
+     * Sets the width of the selection frame, which stays centered over the strip, e.g. to
+     * frame the days of a range around the centered one.
+     *
+     * @param width width in pixels, or a negative value to span the strip
+     */
+    public void setSelectionFrameWidth(float width) {
+        if (dateStrip != null) {
+            dateStrip.setSelectionFrameWidth(width);
+        } else {
+            selectionFrame.setFrameWidth(width);
+        }
+    }
+
+    /**
+     * Animates the selection frame to the given width. The frame is recorded once and only
+     * moved while animating. In canvas render mode the width changes at once.
+     *
+     * @param width      target width in pixels
+     * @param durationMs animation duration in ms
+     */
+    public void animateSelectionFrameWidth(float width, long durationMs) {
+        if (dateStrip != null) {
+            dateStrip.setSelectionFrameWidth(width);
+        } else {
+            selectionFrame.animateFrameWidth(width, durationMs);
+        }
+    }
+
+    /**
+     * Returns the current width of the selection frame in pixels.
+     */
+    public float getSelectionFrameWidth() {
+        return dateStrip != null ? dateStrip.getSelectionFrameWidth() : selectionFrame.getFrameWidth();
+    }
+
+    /**
+     * Sets which date fields the header shows. Coarser granularities also mean the
+     * header is redrawn less often while scrolling.
+     *
+     * @param granularity one of {@link #HEADER_GRANULARITY_DAY},
+     *                    {@link #HEADER_GRANULARITY_MONTH} or {@link #HEADER_GRANULARITY_YEAR}
+     */
+    public void setHeaderGranularity(@HeaderGranularity int granularity) {
+        if (headerGranularity == granularity) return;
+        headerGranularity = granularity;
+        headerKey = Long.MIN_VALUE;
+        updateUpDate();
+    }
+
+    /**
+     * Shows the days in the given calendar system: day numbers, header text and week
+     * boundaries all follow it. Dates passed to and from the calendar stay
+     * {@link Calendar}s and epoch days.
+     *
+     * @param chronology calendar system, e.g. {@link CalendarChronology#PERSIAN}
+     */
+    public void setChronology(CalendarChronology chronology) {
+        if (chronology == null) chronology = CalendarChronology.GREGORIAN;
+        if (this.chronology == chronology) return;
+        this.chronology = chronology;
+        if (adapter == null) return;
+
+        adapter.setChronology(chronology);
+        if (dateStrip == null && weekDividerDecoration != null) {
+            resetWeekDividers();
+        }
+        headerKey = Long.MIN_VALUE;
+        updateUpDate();
+    }
+
+    /**
+     * Returns the calendar system the days are shown in.
+     */
+    public CalendarChronology getChronology() {
+        return chronology;
+    }
+
+    /** Maps the {@code chronology} XML attribute to a calendar system. */
+    private static CalendarChronology chronologyForAttr(int value) {
+        switch (value) {
+            case 1:
+                return CalendarChronology.HIJRI;
+            case 2:
+                return CalendarChronology.PERSIAN;
+            case 3:
+                return CalendarChronology.JAPANESE;
+            default:
+                return CalendarChronology.GREGORIAN;
+        }
+    }
+
+    /**
+     * Sets whether weeks should start on Monday. Calendar systems with a fixed week,
+     * such as {@link CalendarChronology#PERSIAN}, ignore it.
+     *
+     * @param startsOnMonday true if week starts Monday, false if Sunday
+     */
+    public void setWeekStartsOnMonday(boolean startsOnMonday){
+        this.weekStartsOnMonday = startsOnMonday;
+
+        if (dateStrip != null) {
+            dateStrip.setWeekStartsOnMonday(startsOnMonday);
+            return;
+        }
 
         if (adapter == null) return;
 
         if (weekDividerDecoration != null) {
             recyclerView.removeItemDecoration(weekDividerDecoration);
-            weekDividerDecoration = new WeekDividerDecoration(
-                    weekStartsOnMonday,
-                    adapter.getStartPosition()
-            );
+            weekDividerDecoration = createWeekDividerDecoration();
             recyclerView.addItemDecoration(weekDividerDecoration);
 
             recyclerView.invalidateItemDecorations();
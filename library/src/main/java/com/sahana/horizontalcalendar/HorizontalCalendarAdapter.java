@@ -10,32 +10,98 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.sahana.horizontalcalendar.R;
 
-import java.text.DateFormatSymbols;
 import java.util.Calendar;
-import java.util.Locale;
+import java.util.List;
 
 /**
  * Adapter for {@link HorizontalCalendar}. Dynamically generates date items
- * based on a base date and visible range, without storing a full date list.
+ * for a window of days, without storing a full date list.
+ * <p>
+ * Positions map to days as {@code epochDay = firstEpochDay + position}, so mapping
+ * either way is O(1) and memory is constant however large the window is. The window can
+ * cover every supported date, which gives an effectively unbounded calendar.
  */
 public class HorizontalCalendarAdapter extends RecyclerView.Adapter<HorizontalCalendarAdapter.DateViewHolder> {
-    /** The base date from which offsets are calculated. */
-    private final Calendar baseDate;
+    /** Earliest day the adapter can show: 0001-01-01. */
+    public static final long MIN_SUPPORTED_EPOCH_DAY = EpochDays.of(1, Calendar.JANUARY, 1);
 
-    /** Number of days shown before and after baseDate (half of totalDays - 1). */
-    private final int visibleRange;
+    /** Latest day the adapter can show: 9999-12-31. */
+    public static final long MAX_SUPPORTED_EPOCH_DAY = EpochDays.of(9999, Calendar.DECEMBER, 31);
 
-    /** Total number of days in the adapter = visibleRange * 2 + 1. */
-    private final int totalDays;
+    /** The base date from which offsets are calculated, as an epoch day. */
+    private long baseEpochDay;
 
-    /** Adapter position that corresponds to baseDate (center position). */
-    private final int startPosition;
+    /** Epoch day shown at adapter position 0. */
+    private long firstEpochDay;
 
-    /** Currently selected adapter position, or -1 if none. */
-    private int selectedPosition = -1;
+    /** Total number of days in the adapter window. */
+    private int totalDays;
+
+    /**
+     * Payload telling {@link #onBindViewHolder(DateViewHolder, int, List)} that only the
+     * selected state changed, so labels do not need to be rebound.
+     */
+    static final Object PAYLOAD_SELECTION = new Object();
+
+    /**
+     * Payload telling {@link #onBindViewHolder(DateViewHolder, int, List)} that only the
+     * marker value changed.
+     */
+    static final Object PAYLOAD_MARKERS = new Object();
+
+    /**
+     * Payload telling {@link #onBindViewHolder(DateViewHolder, int, List)} that only the
+     * enabled state changed.
+     */
+    static final Object PAYLOAD_ENABLED = new Object();
+
+    /**
+     * View type of code-built {@link DateCellView} cells. Inflated cells use their layout
+     * resource as view type, so pooled cells of different layouts never mix.
+     */
+    static final int VIEW_TYPE_DATE = 0;
+
+    /** Layout inflated for each cell, or 0 to build {@link DateCellView}s in code. */
+    private int cellLayout;
+
+    /** Calendar system the day numbers are shown in. */
+    private CalendarChronology chronology = CalendarChronology.GREGORIAN;
+
+    /** Alpha of cells showing a disabled day. */
+    static final float DISABLED_ALPHA = 0.3f;
+
+    /** Marker palette used until {@link #setMarkerColors(int[])} is called. */
+    static final int[] DEFAULT_MARKER_COLORS = {0xFF4285F4, 0xFFEA4335, 0xFF34A853, 0xFFFBBC05};
+
+    /** Per-day marker values; owned by {@link HorizontalCalendar}. */
+    private DayMarkers markers = new DayMarkers();
+
+    /** Colors selected by the mask bits of marker values. */
+    private int[] markerColors = DEFAULT_MARKER_COLORS;
+
+    /** Asynchronously loaded marker values merged with {@link #markers}, or null. */
+    private DayDataLoader dayData;
+
+    /** Marker values of recurrence rules merged with {@link #markers}, or null. */
+    private RecurrenceMarkers recurrences;
+
+    /**
+     * Days picked in multiple or range selection mode; owned by {@link HorizontalCalendar}.
+     * Cells of these days are shown in the activated state.
+     */
+    private DaySelection checkedDays = new DaySelection();
+
+    /** Days that cannot be selected or clicked; owned by {@link HorizontalCalendar}. */
+    private DayRangeSet disabledDays = new DayRangeSet();
+
+    /** Currently selected adapter position, or {@link RecyclerView#NO_POSITION} if none. */
+    private int selectedPosition = RecyclerView.NO_POSITION;
 
     private OnDateClickListener dateClickListener;
+    private OnDayClickListener dayClickListener;
 
+    /** Receiver of create/bind timings, or null; the clock is only read when set. */
+    private HorizontalCalendarMetrics metrics;
 
     /**
      * Listener for click events on individual date items.
@@ -49,66 +115,258 @@ public class HorizontalCalendarAdapter extends RecyclerView.Adapter<HorizontalCa
         void onDateClick(Calendar date);
     }
 
+    /** Click listener taking the epoch day, so the widget's own taps allocate nothing. */
+    interface OnDayClickListener {
+        void onDayClick(long epochDay);
+    }
+
     /**
      * Constructs the adapter.
      *
-     * @param baseDate     the center date for this calendar (will be cloned)
+     * @param baseDate     the center date for this calendar (only its date fields are used)
      * @param visibleRange number of days before and after baseDate to display
      */
     public HorizontalCalendarAdapter(Calendar baseDate, int visibleRange) {
-        // Clone and normalize baseDate to midnight
-        this.baseDate = (Calendar) baseDate.clone();
-        this.baseDate.set(Calendar.HOUR_OF_DAY,0);
-        this.baseDate.set(Calendar.MINUTE,0);
-        this.baseDate.set(Calendar.SECOND,0);
-        this.baseDate.set(Calendar.MILLISECOND,0);
+        this.baseEpochDay = EpochDays.fromCalendar(baseDate);
+        setWindow(baseEpochDay - visibleRange, baseEpochDay + visibleRange);
+
+        // Epoch days identify cells, which keeps item animations and prefetch effective
+        setHasStableIds(true);
+    }
+
+    /**
+     * Changes the days covered by the adapter. Both ends are clamped to the supported range.
+     * Existing holders are rebound only if the window actually moved.
+     *
+     * @param firstDay first epoch day to show (inclusive)
+     * @param lastDay  last epoch day to show (inclusive)
+     * @return true if the window changed
+     */
+    public boolean setDayRange(long firstDay, long lastDay) {
+        long previousFirst = firstEpochDay;
+        int previousTotal = totalDays;
+        setWindow(firstDay, lastDay);
+        if (firstEpochDay == previousFirst && totalDays == previousTotal) return false;
+
+        if (selectedPosition != RecyclerView.NO_POSITION) {
+            long selectedDay = previousFirst + selectedPosition;
+            selectedPosition = selectedDay >= firstEpochDay && selectedDay < firstEpochDay + totalDays
+                    ? (int) (selectedDay - firstEpochDay)
+                    : RecyclerView.NO_POSITION;
+        }
+        notifyDataSetChanged();
+        return true;
+    }
+
+    private void setWindow(long firstDay, long lastDay) {
+        firstDay = Math.max(firstDay, MIN_SUPPORTED_EPOCH_DAY);
+        lastDay = Math.min(lastDay, MAX_SUPPORTED_EPOCH_DAY);
+        firstEpochDay = firstDay;
+        totalDays = (int) Math.max(0, lastDay - firstDay + 1);
+    }
 
-        this.visibleRange = visibleRange;
-        this.totalDays    = visibleRange * 2 + 1;
-        this.startPosition= visibleRange;
+    /**
+     * Moves the base date without changing the window.
+     *
+     * @param epochDay new base day
+     */
+    public void setBaseEpochDay(long epochDay) {
+        baseEpochDay = epochDay;
     }
 
     /**
-     * Inflates the date item view and creates a ViewHolder.
+     * Sets the layout inflated for each cell. It must contain TextViews with the ids
+     * {@code text_day_of_week} and {@code text_day}, and may contain a {@link DayMarkerView}
+     * with the id {@code marker_dots}.
+     *
+     * @param layoutRes layout resource, or 0 for the code-built {@link DateCellView}
+     */
+    void setCellLayout(int layoutRes) {
+        if (cellLayout == layoutRes) return;
+        cellLayout = layoutRes;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Shows the day numbers in the given calendar system; rebinds every cell if it changed.
+     */
+    void setChronology(CalendarChronology chronology) {
+        if (this.chronology == chronology) return;
+        this.chronology = chronology;
+        notifyDataSetChanged();
+    }
+
+    CalendarChronology getChronology() {
+        return chronology;
+    }
+
+    /**
+     * Returns the view type of cells for the given layout.
+     *
+     * @param layoutRes cell layout resource, or 0 for the code-built {@link DateCellView}
+     */
+    static int cellViewType(int layoutRes) {
+        return layoutRes == 0 ? VIEW_TYPE_DATE : layoutRes;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return cellViewType(cellLayout);
+    }
+
+    /**
+     * Creates a {@link DateCellView}, or inflates the cell layout set with
+     * {@link #setCellLayout(int)}, and wraps it in a ViewHolder.
      */
     @NonNull
     @Override
     public DateViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        // Inflate a single date item layout
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_date, parent, false);
-        return new DateViewHolder(view);
+        boolean traced = CalendarTrace.beginSection(CalendarTrace.CREATE_VIEW_HOLDER);
+        try {
+            return buildViewHolder(parent, viewType);
+        } finally {
+            CalendarTrace.endSection(traced);
+        }
+    }
+
+    private DateViewHolder buildViewHolder(ViewGroup parent, int viewType) {
+        HorizontalCalendarMetrics metrics = this.metrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+
+        View view = viewType == VIEW_TYPE_DATE
+                ? new DateCellView(parent.getContext())
+                : LayoutInflater.from(parent.getContext()).inflate(viewType, parent, false);
+        DateViewHolder holder = new DateViewHolder(view);
+
+        // One listener per holder; adapter and date are resolved at click time, because a
+        // holder from a shared pool may be bound by another calendar than the one creating it
+        view.setOnClickListener(v -> {
+            RecyclerView.Adapter<?> bound = holder.getBindingAdapter();
+            if (bound instanceof HorizontalCalendarAdapter) {
+                ((HorizontalCalendarAdapter) bound).onCellClicked(holder.getBindingAdapterPosition());
+            }
+        });
+
+        if (metrics != null) {
+            metrics.onViewHolderCreated(System.nanoTime() - start);
+        }
+        return holder;
+    }
+
+    private void onCellClicked(int position) {
+        if (position == RecyclerView.NO_POSITION) return;
+        long epochDay = getEpochDayAt(position);
+        if (isDayDisabled(epochDay)) return;
+
+        if (dayClickListener != null) {
+            dayClickListener.onDayClick(epochDay);
+        }
+        if (dateClickListener != null) {
+            // Only the public listener gets a Calendar
+            dateClickListener.onDateClick(EpochDays.toCalendar(epochDay));
+        }
     }
 
     /**
-     * Binds the date data (day of week and day of month) to the ViewHolder,
-     * and sets up click listener for smooth scrolling to that date.
+     * Binds the date data (day of week and day of month) to the ViewHolder.
+     * Labels come from pre-built tables, so binding a recycled holder allocates nothing.
      */
     @Override
     public void onBindViewHolder(@NonNull DateViewHolder holder, int position) {
-        // Compute offset in days from baseDate
-        int offset = position - startPosition;
-        Calendar calendar = (Calendar) baseDate.clone();
-        calendar.add(Calendar.DAY_OF_YEAR, offset); // Move forward or backward by offset
-
-        // Bind click listener
-        holder.itemView.setOnClickListener(v -> {
-            if (dateClickListener != null) {
-                dateClickListener.onDateClick(calendar);
-            }
-        });
+        boolean traced = CalendarTrace.beginSection(CalendarTrace.BIND_VIEW_HOLDER);
+        try {
+            bindFull(holder, position);
+        } finally {
+            CalendarTrace.endSection(traced);
+        }
+    }
 
-        // Format day of week and day of month
-        DateFormatSymbols dfs = new DateFormatSymbols(Locale.getDefault());
-        String weekday = dfs.getShortWeekdays()[calendar.get(Calendar.DAY_OF_WEEK)];
-        String dayOfMonth = String.valueOf(calendar.get(Calendar.DAY_OF_MONTH));
+    private void bindFull(DateViewHolder holder, int position) {
+        HorizontalCalendarMetrics metrics = this.metrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+        long epochDay = getEpochDayAt(position);
+        CalendarChronology chronology = this.chronology;
+        LocaleLabelCache.Labels labels = LocaleLabelCache.forDefaultLocale(chronology);
 
-        holder.dayOfMonthText.setText(dayOfMonth);
-        holder.dayOfWeekText.setText(weekday);
+        holder.bindLabels(
+                labels.shortWeekdays[EpochDays.dayOfWeek(epochDay)],
+                labels.dayNumbers[chronology.getDayOfMonth(epochDay)]
+        );
 
         // Highlight selection
-        holder.itemView.setSelected(position == selectedPosition
-        );
+        bindSelection(holder, position, epochDay);
+        holder.bindMarker(getMarkerValue(epochDay), markerColors);
+        holder.bindEnabled(!isDayDisabled(epochDay));
+
+        if (metrics != null) {
+            metrics.onViewHolderBound(System.nanoTime() - start, false);
+        }
+    }
+
+    /**
+     * Rebinds only the selected state, marker and/or enabled state when every payload is
+     * {@link #PAYLOAD_SELECTION}, {@link #PAYLOAD_MARKERS} or {@link #PAYLOAD_ENABLED};
+     * falls back to a full bind otherwise.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull DateViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        boolean traced = CalendarTrace.beginSection(CalendarTrace.BIND_PAYLOAD);
+        try {
+            bindPayloads(holder, position, payloads);
+        } finally {
+            CalendarTrace.endSection(traced);
+        }
+    }
+
+    private void bindPayloads(DateViewHolder holder, int position, List<Object> payloads) {
+        HorizontalCalendarMetrics metrics = this.metrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+        boolean selection = false;
+        boolean marker = false;
+        boolean enabled = false;
+        for (int i = 0; i < payloads.size(); i++) {
+            Object payload = payloads.get(i);
+            if (payload == PAYLOAD_SELECTION) {
+                selection = true;
+            } else if (payload == PAYLOAD_MARKERS) {
+                marker = true;
+            } else if (payload == PAYLOAD_ENABLED) {
+                enabled = true;
+            } else {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+        if (selection) {
+            bindSelection(holder, position, getEpochDayAt(position));
+        }
+        if (marker) {
+            holder.bindMarker(getMarkerValue(getEpochDayAt(position)), markerColors);
+        }
+        if (enabled) {
+            holder.bindEnabled(!isDayDisabled(getEpochDayAt(position)));
+        }
+
+        if (metrics != null) {
+            metrics.onViewHolderBound(System.nanoTime() - start, true);
+        }
+    }
+
+    private void bindSelection(DateViewHolder holder, int position, long epochDay) {
+        holder.itemView.setSelected(position == selectedPosition);
+        holder.itemView.setActivated(checkedDays.contains(epochDay));
+    }
+
+    /**
+     * Returns the epoch day of the item as its stable id.
+     */
+    @Override
+    public long getItemId(int position) {
+        return getEpochDayAt(position);
     }
 
     /**
@@ -120,22 +378,181 @@ public class HorizontalCalendarAdapter extends RecyclerView.Adapter<HorizontalCa
     }
 
     /**
-     * Returns the adapter position corresponding to {@code baseDate}.
+     * Returns the adapter position corresponding to {@code baseDate},
+     * clamped to the window if the base date lies outside it.
      *
      * @return the start (center) position
      */
     public int getStartPosition() {
-        return startPosition;
+        return getPositionForEpochDay(baseEpochDay);
+    }
+
+    /**
+     * Returns the epoch day (days since 1970-01-01) shown at the given adapter position.
+     *
+     * @param position adapter position
+     * @return the epoch day for that position
+     */
+    public long getEpochDayAt(int position) {
+        return firstEpochDay + position;
+    }
+
+    /**
+     * Returns the adapter position showing the given day, clamped to the window.
+     *
+     * @param epochDay day to look up
+     * @return the nearest adapter position
+     */
+    public int getPositionForEpochDay(long epochDay) {
+        long position = epochDay - firstEpochDay;
+        return (int) Math.max(0, Math.min(position, totalDays - 1L));
     }
 
     /**
-     * Updates which position is marked as selected and refreshes the view.
+     * Returns the position marked as selected, or {@link RecyclerView#NO_POSITION}.
+     */
+    int getSelectedPosition() {
+        return selectedPosition;
+    }
+
+    /**
+     * Updates which position is marked as selected. Only the previously and newly
+     * selected cells are rebound, and only their selected state.
      *
      * @param position the new selected adapter position
      */
     public void setSelectedPosition(int position) {
+        int previousPosition = selectedPosition;
+        if (previousPosition == position) return;
+
         selectedPosition = position;
-        notifyDataSetChanged();
+        if (previousPosition != RecyclerView.NO_POSITION) {
+            notifyItemChanged(previousPosition, PAYLOAD_SELECTION);
+        }
+        if (position != RecyclerView.NO_POSITION) {
+            notifyItemChanged(position, PAYLOAD_SELECTION);
+        }
+    }
+
+    /**
+     * Uses the given marker storage. Holders are not rebound; the caller notifies
+     * the positions whose values differ.
+     *
+     * @param markers marker values to read during bind
+     */
+    void setMarkers(DayMarkers markers) {
+        this.markers = markers;
+    }
+
+    /**
+     * Returns the packed marker value shown for a day, or 0 if it has none.
+     *
+     * @param epochDay day to look up
+     * @return packed value as described in {@link DayMarkers}
+     */
+    int getMarkerValue(long epochDay) {
+        int value = markers.get(epochDay);
+        if (recurrences != null) {
+            value = DayMarkers.merge(value, recurrences.get(epochDay));
+        }
+        return dayData != null ? DayMarkers.merge(value, dayData.get(epochDay)) : value;
+    }
+
+    /**
+     * Uses values of recurrence rules in addition to the explicit markers. Holders are not
+     * rebound; the caller notifies with {@link #PAYLOAD_MARKERS}.
+     *
+     * @param recurrences rules evaluated for the months of the bound days
+     */
+    void setRecurrenceMarkers(RecurrenceMarkers recurrences) {
+        this.recurrences = recurrences;
+    }
+
+    /**
+     * Uses values from a {@link DayDataSource} in addition to the explicit markers.
+     *
+     * @param loader loader whose cached pages are read during bind, or null
+     */
+    void setDayDataLoader(DayDataLoader loader) {
+        this.dayData = loader;
+    }
+
+    /**
+     * Returns the palette the color bits of marker values index into.
+     */
+    int[] getMarkerColors() {
+        return markerColors;
+    }
+
+    /**
+     * Sets the marker palette and rebinds the markers of all bound cells.
+     *
+     * @param colors ARGB colors; bit i of a marker mask selects {@code colors[i]}
+     */
+    void setMarkerColors(int[] colors) {
+        markerColors = colors;
+        notifyItemRangeChanged(0, totalDays, PAYLOAD_MARKERS);
+    }
+
+    /**
+     * Uses the given multi/range selection. Holders are not rebound; the caller notifies
+     * the changed positions with {@link #PAYLOAD_SELECTION}.
+     *
+     * @param checkedDays days shown as activated
+     */
+    void setCheckedDays(DaySelection checkedDays) {
+        this.checkedDays = checkedDays;
+    }
+
+    /**
+     * Returns whether the day is part of the multi/range selection. O(1).
+     *
+     * @param epochDay day to check
+     * @return true if the cell is shown as activated
+     */
+    boolean isDayChecked(long epochDay) {
+        return checkedDays.contains(epochDay);
+    }
+
+    /**
+     * Uses the given set of disabled days. Holders are not rebound; the caller notifies
+     * with {@link #PAYLOAD_ENABLED}.
+     *
+     * @param disabledDays days drawn dimmed and ignored by clicks
+     */
+    void setDisabledDays(DayRangeSet disabledDays) {
+        this.disabledDays = disabledDays;
+    }
+
+    /**
+     * Returns whether the given day is disabled. O(log n) in the number of disabled ranges.
+     *
+     * @param epochDay day to check
+     * @return true if the day cannot be selected
+     */
+    boolean isDayDisabled(long epochDay) {
+        return disabledDays.contains(epochDay);
+    }
+
+    /**
+     * Rebinds the marker of the cell showing the given day, if the day is in the window.
+     *
+     * @param epochDay day whose marker changed
+     */
+    void notifyMarkerChanged(long epochDay) {
+        long position = epochDay - firstEpochDay;
+        if (position >= 0 && position < totalDays) {
+            notifyItemChanged((int) position, PAYLOAD_MARKERS);
+        }
+    }
+
+    /**
+     * Sets the receiver of create and bind timings.
+     *
+     * @param metrics metrics receiver, or null to stop measuring
+     */
+    void setMetrics(HorizontalCalendarMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
@@ -148,16 +565,76 @@ public class HorizontalCalendarAdapter extends RecyclerView.Adapter<HorizontalCa
     }
 
     /**
-     * ViewHolder for a single date item (day number and day of week).
+     * Registers the widget's own click listener, notified before the public one.
+     */
+    void setOnDayClickListener(OnDayClickListener listener) {
+        this.dayClickListener = listener;
+    }
+
+    /**
+     * ViewHolder for a single date item (day number and day of week): a
+     * {@link DateCellView}, or an inflated layout with TextViews.
      */
     static class DateViewHolder extends RecyclerView.ViewHolder {
+        /** Code-built cell, or null for an inflated layout. */
+        final DateCellView cellView;
         TextView dayOfMonthText;
         TextView dayOfWeekText;
+        DayMarkerView markerView;
+
+        /** Whether the cell currently shows an enabled day. */
+        private boolean boundEnabled = true;
+
+        /** Labels currently shown; lets a rebind skip setText when nothing changed. */
+        private String boundDayOfMonth;
+        private String boundDayOfWeek;
 
         public DateViewHolder(@NonNull View itemView) {
             super(itemView);
+            if (itemView instanceof DateCellView) {
+                cellView = (DateCellView) itemView;
+                return;
+            }
+            cellView = null;
             dayOfMonthText = itemView.findViewById(R.id.text_day);
             dayOfWeekText = itemView.findViewById(R.id.text_day_of_week);
+            markerView = itemView.findViewById(R.id.marker_dots);
+        }
+
+        /** Dims the cell when its day is disabled. */
+        void bindEnabled(boolean enabled) {
+            if (enabled == boundEnabled) return;
+            boundEnabled = enabled;
+            itemView.setEnabled(enabled);
+            itemView.setAlpha(enabled ? 1f : DISABLED_ALPHA);
+        }
+
+        /** Shows a packed marker value under the day number. */
+        void bindMarker(int value, int[] palette) {
+            if (cellView != null) {
+                cellView.setMarker(value, palette);
+            } else if (markerView != null) {
+                markerView.setMarker(value, palette);
+            }
+        }
+
+        /**
+         * Shows the given labels. Labels are shared table entries, so an identity
+         * comparison is enough to detect that the holder already displays them.
+         */
+        void bindLabels(String dayOfWeek, String dayOfMonth) {
+            if (cellView != null) {
+                cellView.setLabels(dayOfWeek, dayOfMonth);
+                return;
+            }
+            if (dayOfWeek != boundDayOfWeek) {
+                dayOfWeekText.setText(dayOfWeek);
+                boundDayOfWeek = dayOfWeek;
+            }
+            if (dayOfMonth != boundDayOfMonth) {
+                dayOfMonthText.setText(dayOfMonth);
+                boundDayOfMonth = dayOfMonth;
+            }
         }
     }
 }
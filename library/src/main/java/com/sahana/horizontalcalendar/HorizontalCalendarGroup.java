@@ -0,0 +1,181 @@
+package com.sahana.horizontalcalendar;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+
+/**
+ * Scrolls several {@link HorizontalCalendar}s together, e.g. one row per room or person
+ * over the same days.
+ * <p>
+ * One member drives at a time: the one the user last started dragging, or the one a
+ * {@code scrollToDate...} call was made on. Only the driver runs its fling and snapping;
+ * each frame, the other members are moved to show the driver's centered day at the same
+ * offset, without reporting scrolls of their own. Per frame this costs one offset lookup
+ * and scroll per member, and one header update: only the first member shows the month
+ * header, the others hide theirs while grouped. When the driver settles, all members
+ * select its day and the group's listeners are notified once; the members' own
+ * single-selection listeners are not called while grouped.
+ * <p>
+ * The group keeps its members; remove them when their screen goes away. Members should
+ * share their range and cell width. Use from the main thread only.
+ */
+public final class HorizontalCalendarGroup {
+
+    /** Returned by a member without a centered day. */
+    static final long NO_DAY = Long.MIN_VALUE;
+
+    private final ArrayList<HorizontalCalendar> members = new ArrayList<>();
+
+    private final SelectionDispatcher selectionDispatcher = new SelectionDispatcher();
+
+    /** Member whose scrolling the others follow, or null when empty. */
+    private HorizontalCalendar driver;
+
+    /**
+     * Adds a calendar and aligns it with the current driver. The first calendar added
+     * drives and shows the header.
+     *
+     * @param calendar calendar not in any group
+     * @throws IllegalArgumentException if the calendar already is in a group
+     */
+    public void add(HorizontalCalendar calendar) {
+        if (calendar.group != null) {
+            throw new IllegalArgumentException("Calendar already is in a group");
+        }
+        calendar.group = this;
+        members.add(calendar);
+        if (driver == null) {
+            driver = calendar;
+            calendar.setGroupRole(true, true);
+            return;
+        }
+        calendar.setGroupRole(false, false);
+        long day = driver.getGroupAnchorDay();
+        if (day != NO_DAY) {
+            calendar.settleOnGroupDay(day, false);
+        }
+    }
+
+    /**
+     * Removes a calendar, which then scrolls on its own again with its header shown.
+     *
+     * @return true if the calendar was a member
+     */
+    public boolean remove(HorizontalCalendar calendar) {
+        int index = members.indexOf(calendar);
+        if (index < 0) return false;
+
+        members.remove(index);
+        calendar.group = null;
+        calendar.setGroupRole(true, true);
+        if (members.isEmpty()) {
+            driver = null;
+            selectionDispatcher.cancelPending();
+            return true;
+        }
+        if (calendar == driver) {
+            driver = members.get(0);
+            driver.setGroupRole(true, true);
+        } else if (index == 0) {
+            // The next member takes over the header
+            HorizontalCalendar first = members.get(0);
+            first.setGroupRole(false, true);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of calendars in the group.
+     */
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Sets the listener notified once per day the group settles on.
+     */
+    public void setOnDateSelectedListener(HorizontalCalendar.OnDateSelectedListener listener) {
+        selectionDispatcher.setDateListener(listener);
+    }
+
+    /**
+     * Sets a listener notified like the {@link HorizontalCalendar.OnDateSelectedListener},
+     * but with the epoch day, so events allocate nothing.
+     */
+    public void setOnDaySelectedListener(HorizontalCalendar.OnDaySelectedListener listener) {
+        selectionDispatcher.setDayListener(listener);
+    }
+
+    /**
+     * Makes the given member the driver. The previous driver stops its fling, so it does
+     * not keep moving against the new one.
+     */
+    void setDriver(HorizontalCalendar calendar) {
+        HorizontalCalendar previous = driver;
+        if (previous == calendar) return;
+
+        driver = calendar;
+        calendar.setGroupRole(true, calendar == members.get(0));
+        previous.setGroupRole(false, previous == members.get(0));
+        previous.stopGroupScroll();
+    }
+
+    /**
+     * Called by a member whose scroll state changed. A member the user starts dragging
+     * becomes the driver.
+     *
+     * @return true if the member should handle the change itself, false to ignore it
+     */
+    boolean onMemberScrollStateChanged(HorizontalCalendar calendar, int newState) {
+        if (calendar == driver) {
+            if (newState != RecyclerView.SCROLL_STATE_IDLE) {
+                selectionDispatcher.onScrollStarted();
+            }
+            return true;
+        }
+        if (newState != RecyclerView.SCROLL_STATE_DRAGGING) return false;
+
+        setDriver(calendar);
+        selectionDispatcher.onScrollStarted();
+        return true;
+    }
+
+    /**
+     * Called by a member that scrolled. Moves the others along if it is the driver.
+     */
+    void onMemberScrolled(HorizontalCalendar calendar, int dx) {
+        if (calendar != driver) return;
+
+        long day = driver.getGroupAnchorDay();
+        if (day == NO_DAY) return;
+
+        int offset = driver.getGroupAnchorOffset(day);
+        int cellWidth = driver.getGroupCellWidth();
+        HorizontalCalendar header = members.get(0);
+        for (int i = 0, count = members.size(); i < count; i++) {
+            HorizontalCalendar member = members.get(i);
+            if (member != driver) {
+                member.followGroupAnchor(day, offset, cellWidth);
+            }
+            member.onGroupScrolled(dx, member == header);
+        }
+    }
+
+    /**
+     * Called by a member that settled on a day. If it is the driver, all members select the
+     * day and the listeners are notified once.
+     */
+    void onMemberSettled(HorizontalCalendar calendar, long epochDay) {
+        if (calendar != driver) return;
+
+        HorizontalCalendar header = members.get(0);
+        for (int i = 0, count = members.size(); i < count; i++) {
+            HorizontalCalendar member = members.get(i);
+            if (member != driver) {
+                member.settleOnGroupDay(epochDay, member == header);
+            }
+        }
+        selectionDispatcher.onDaySettled(epochDay);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sahana.horizontalcalendar;
+
+/**
+ * Receives timings from a {@link HorizontalCalendar}, e.g. to forward them to telemetry.
+ * <p>
+ * Register with {@link HorizontalCalendar#setMetrics(HorizontalCalendarMetrics)}. All callbacks
+ * run on the main thread, inside the measured work's frame, so they should only record numbers.
+ * Every callback is one event, so counting calls gives the counters. All methods have empty
+ * defaults; override only what you need. While no metrics object is registered the calendar
+ * does not read the clock at all.
+ */
+public interface HorizontalCalendarMetrics {
+
+    /**
+     * A day cell view holder was created (recycler render mode only).
+     *
+     * @param durationNanos time spent in {@code onCreateViewHolder}
+     */
+    default void onViewHolderCreated(long durationNanos) {
+    }
+
+    /**
+     * A day cell was bound (recycler render mode only).
+     *
+     * @param durationNanos time spent in {@code onBindViewHolder}
+     * @param payloadOnly   true if only the selection, marker or enabled state was rebound
+     */
+    default void onViewHolderBound(long durationNanos, boolean payloadOnly) {
+    }
+
+    /**
+     * The header text changed.
+     *
+     * @param durationNanos time spent building and setting the text
+     */
+    default void onHeaderUpdated(long durationNanos) {
+    }
+
+    /**
+     * Scrolling stopped and the centered day was selected.
+     *
+     * @param durationNanos time from the idle scroll state to the updated selection and header
+     */
+    default void onSelectionSettled(long durationNanos) {
+    }
+
+    /**
+     * A {@link HorizontalCalendar#scrollToDateSmooth} animation ended.
+     *
+     * @param durationNanos time from the call until scrolling was idle again
+     * @param days          number of days scrolled, negative for backwards
+     */
+    default void onSmoothScrollFinished(long durationNanos, int days) {
+    }
+
+    /**
+     * A frame was drawn while the calendar was scrolling.
+     *
+     * @param frameIntervalNanos time since the previous frame
+     * @param droppedFrames      frames missed in that interval at the display refresh rate
+     *                           (0 for a frame on time)
+     */
+    default void onScrollFrame(long frameIntervalNanos, int droppedFrames) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.sahana.horizontalcalendar;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+
+/**
+ * Clears the shared {@link LocaleLabelCache} when the system locale changes.
+ * <p>
+ * A single receiver is registered on the application context the first time
+ * a {@link HorizontalCalendar} is created and stays registered for the life of the process.
+ */
+final class LocaleChangeReceiver extends BroadcastReceiver {
+
+    /** Whether the process-wide receiver has already been registered. */
+    private static boolean registered;
+
+    private LocaleChangeReceiver() {
+    }
+
+    /**
+     * Registers the receiver once per process.
+     *
+     * @param context any context; its application context is used for registration
+     */
+    static synchronized void ensureRegistered(Context context) {
+        if (registered) return;
+
+        Context appContext = context.getApplicationContext();
+        if (appContext == null) return;
+
+        appContext.registerReceiver(
+                new LocaleChangeReceiver(),
+                new IntentFilter(Intent.ACTION_LOCALE_CHANGED)
+        );
+        registered = true;
+    }
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (Intent.ACTION_LOCALE_CHANGED.equals(intent.getAction())) {
+            LocaleLabelCache.invalidate();
+        }
+    }
+}
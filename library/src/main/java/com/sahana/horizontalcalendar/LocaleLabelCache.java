@@ -0,0 +1,162 @@
+package com.sahana.horizontalcalendar;
+
+import java.text.DateFormatSymbols;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the localized strings the calendar draws: weekday names,
+ * month names and day-of-month numbers.
+ * <p>
+ * Tables are built once per (locale, chronology) pair and shared by every
+ * {@link HorizontalCalendar} in the process, so binding and header updates only
+ * perform array lookups. The cache is cleared by {@link #invalidate()} when the
+ * system locale changes.
+ */
+final class LocaleLabelCache {
+
+    /** All tables built so far, keyed by locale and chronology. */
+    private static final Map<String, Labels> CACHE = new HashMap<>();
+
+    /** Most recently requested tables; answers repeated lookups without locking. */
+    private static volatile Labels lastLabels;
+
+    private LocaleLabelCache() {
+    }
+
+    /**
+     * Returns the Gregorian labels for the current default locale.
+     */
+    static Labels forDefaultLocale() {
+        return get(Locale.getDefault(), CalendarChronology.GREGORIAN);
+    }
+
+    /**
+     * Returns the labels of the given chronology for the current default locale.
+     */
+    static Labels forDefaultLocale(CalendarChronology chronology) {
+        return get(Locale.getDefault(), chronology);
+    }
+
+    /**
+     * Returns the labels for the given locale and chronology, building them on first use.
+     *
+     * @param locale     locale whose names and digits should be used
+     * @param chronology calendar system whose month names should be used
+     * @return shared, immutable label tables
+     */
+    static Labels get(Locale locale, CalendarChronology chronology) {
+        Labels last = lastLabels;
+        if (last != null && last.locale == locale && last.chronology == chronology) {
+            return last;
+        }
+        synchronized (CACHE) {
+            String key = locale.toLanguageTag() + '|' + chronology.getId();
+            Labels labels = CACHE.get(key);
+            if (labels == null) {
+                labels = new Labels(locale, chronology);
+                CACHE.put(key, labels);
+            }
+            lastLabels = labels;
+            return labels;
+        }
+    }
+
+    /**
+     * Drops every cached table. Called when the system locale changes, since the
+     * names and digits for a locale may differ after the change.
+     */
+    static void invalidate() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            lastLabels = null;
+        }
+    }
+
+    /**
+     * Immutable label tables for one locale and chronology.
+     * Weekday arrays are indexed by {@code Calendar.DAY_OF_WEEK} (1 = Sunday),
+     * month arrays by the chronology's 0-based month and
+     * {@link #dayNumbers} by day of month (1..31).
+     */
+    static final class Labels {
+        final Locale locale;
+        final CalendarChronology chronology;
+        final String[] shortWeekdays;
+        final String[] longWeekdays;
+        final String[] months;
+
+        /** Month names in nominative (stand-alone) form, for text without a day number. */
+        final String[] standaloneMonths;
+        final String[] shortMonths;
+        final String[] dayNumbers;
+
+        /** Locale-specific zero digit, used to render other numbers without formatting. */
+        final char zeroDigit;
+
+        Labels(Locale locale, CalendarChronology chronology) {
+            this.locale = locale;
+            this.chronology = chronology;
+
+            DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+            this.shortWeekdays = symbols.getShortWeekdays();
+            this.longWeekdays = symbols.getWeekdays();
+            String[] monthNames = chronology.getMonthNames(locale);
+            if (monthNames != null) {
+                // Other calendars have a single form per month name
+                this.months = monthNames;
+                this.shortMonths = monthNames;
+                this.standaloneMonths = monthNames;
+            } else {
+                this.months = symbols.getMonths();
+                this.shortMonths = symbols.getShortMonths();
+                this.standaloneMonths = buildStandaloneMonths(locale);
+            }
+            this.zeroDigit = DecimalFormatSymbols.getInstance(locale).getZeroDigit();
+
+            StringBuilder builder = new StringBuilder(2);
+            this.dayNumbers = new String[32];
+            for (int day = 1; day < dayNumbers.length; day++) {
+                builder.setLength(0);
+                appendNumber(builder, day);
+                dayNumbers[day] = builder.toString();
+            }
+        }
+
+        /**
+         * Formats each month with the stand-alone pattern "LLLL", which differs
+         * from {@link DateFormatSymbols#getMonths()} in languages with grammatical cases.
+         */
+        private static String[] buildStandaloneMonths(Locale locale) {
+            SimpleDateFormat format = new SimpleDateFormat("LLLL", locale);
+            Calendar calendar = Calendar.getInstance(locale);
+            calendar.clear();
+            calendar.set(2000, Calendar.JANUARY, 1);
+
+            String[] names = new String[12];
+            for (int month = 0; month < names.length; month++) {
+                calendar.set(Calendar.MONTH, month);
+                names[month] = format.format(calendar.getTime());
+            }
+            return names;
+        }
+
+        /**
+         * Appends a non-negative number using this locale's digits, without allocating.
+         *
+         * @param out    destination buffer
+         * @param number value to append; must not be negative
+         */
+        void appendNumber(StringBuilder out, int number) {
+            int start = out.length();
+            do {
+                out.insert(start, (char) (zeroDigit + number % 10));
+                number /= 10;
+            } while (number > 0);
+        }
+    }
+}
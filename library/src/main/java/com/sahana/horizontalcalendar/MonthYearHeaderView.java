@@ -0,0 +1,169 @@
+package com.sahana.horizontalcalendar;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.widget.TextView;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Single-line header that draws its own centered text.
+ * <p>
+ * Unlike a {@code wrap_content} TextView, its size depends only on the font, never on
+ * the text, so {@link #setText(CharSequence)} just copies characters into a reused
+ * buffer and invalidates. Header updates during scrolling therefore never request a layout.
+ * The text is styled through the {@code headerStyle} theme attribute and exposed to
+ * accessibility services like a TextView's.
+ */
+public class MonthYearHeaderView extends View {
+
+    /** Default text size of the header, in sp. */
+    static final float DEFAULT_TEXT_SIZE_SP = 16;
+
+    /** Paint used to draw the header text. */
+    private Paint textPaint;
+
+    /** Characters currently displayed; grown on demand and reused afterwards. */
+    private char[] text = new char[32];
+
+    /** Number of valid characters in {@link #text}. */
+    private int textLength;
+
+    /** Reused font metrics for measuring and baseline computation. */
+    private final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+
+    public MonthYearHeaderView(Context context) {
+        this(context, null);
+    }
+
+    public MonthYearHeaderView(Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, R.attr.headerStyle);
+    }
+
+    public MonthYearHeaderView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs, defStyleAttr);
+    }
+
+    /**
+     * Initializes the text paint from the style, defaulting to the look of the former
+     * header TextView: 16sp, bold, primary text color of the current theme.
+     */
+    private void init(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        TypedArray theme = context.obtainStyledAttributes(new int[]{android.R.attr.textColorPrimary});
+        int defaultColor = theme.getColor(0, 0xFF000000);
+        theme.recycle();
+
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.MonthYearHeaderView, defStyleAttr, 0);
+        int color = typedArray.getColor(R.styleable.MonthYearHeaderView_headerTextColor, defaultColor);
+        float textSize = typedArray.getDimension(R.styleable.MonthYearHeaderView_headerTextSize,
+                TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, DEFAULT_TEXT_SIZE_SP,
+                        getResources().getDisplayMetrics()));
+        int textStyle = typedArray.getInt(R.styleable.MonthYearHeaderView_android_textStyle, Typeface.BOLD);
+        typedArray.recycle();
+
+        textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        textPaint.setTypeface(Typeface.defaultFromStyle(textStyle));
+        textPaint.setTextSize(textSize);
+        textPaint.setColor(color);
+
+        if (getImportantForAccessibility() == IMPORTANT_FOR_ACCESSIBILITY_AUTO) {
+            setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_YES);
+        }
+    }
+
+    /**
+     * Replaces the displayed text. Does nothing if the text is unchanged;
+     * otherwise only invalidates, never requests a layout.
+     *
+     * @param value new header text
+     */
+    public void setText(CharSequence value) {
+        int length = value.length();
+        if (length == textLength && contentEquals(value)) return;
+
+        if (length > text.length) {
+            text = new char[Math.max(length, text.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            text[i] = value.charAt(i);
+        }
+        textLength = length;
+        invalidate();
+        // A no-op unless an accessibility service is listening
+        sendAccessibilityEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED);
+    }
+
+    /**
+     * Returns a copy of the displayed text.
+     */
+    public CharSequence getText() {
+        return new String(text, 0, textLength);
+    }
+
+    private boolean contentEquals(CharSequence value) {
+        for (int i = 0; i < textLength; i++) {
+            if (text[i] != value.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public CharSequence getAccessibilityClassName() {
+        return TextView.class.getName();
+    }
+
+    /**
+     * Exposes the header text to accessibility services, which read TextViews directly.
+     */
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        info.setText(getText());
+    }
+
+    @Override
+    public void onPopulateAccessibilityEvent(AccessibilityEvent event) {
+        super.onPopulateAccessibilityEvent(event);
+        if (textLength > 0) {
+            event.getText().add(getText());
+        }
+    }
+
+    /**
+     * Measures to the available width and a height derived from the font only.
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        textPaint.getFontMetrics(fontMetrics);
+        int textHeight = (int) Math.ceil(fontMetrics.descent - fontMetrics.ascent);
+        int height = textHeight + getPaddingTop() + getPaddingBottom();
+
+        setMeasuredDimension(
+                getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                resolveSize(height, heightMeasureSpec)
+        );
+    }
+
+    /**
+     * Draws the text horizontally centered within the padding.
+     */
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (textLength == 0) return;
+
+        float x = getPaddingLeft() + (getWidth() - getPaddingLeft() - getPaddingRight()) / 2f;
+        float baseline = getPaddingTop() - fontMetrics.ascent;
+        canvas.drawText(text, 0, textLength, x, baseline, textPaint);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sahana.horizontalcalendar;
+
+import android.content.Context;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Turns a long press followed by a drag over the date cells into range selection callbacks.
+ * <p>
+ * Until the long press fires, events pass through and the list scrolls as usual; afterwards
+ * the listener intercepts the gesture so the list stays still while the range follows the finger.
+ */
+class RangeDragListener implements RecyclerView.OnItemTouchListener {
+
+    /** Receives the adapter positions under the finger. */
+    interface Callback {
+        /**
+         * Called on long press over a cell.
+         *
+         * @param position adapter position under the finger
+         * @return true to start a drag
+         */
+        boolean onRangeDragStart(int position);
+
+        /**
+         * Called when the finger moves onto another cell.
+         *
+         * @param position adapter position under the finger
+         */
+        void onRangeDragMove(int position);
+
+        /** Called when the finger is lifted or the gesture is cancelled. */
+        void onRangeDragEnd();
+    }
+
+    private final RecyclerView recyclerView;
+    private final Callback callback;
+    private final GestureDetector gestureDetector;
+
+    private boolean dragging;
+    private int lastPosition = RecyclerView.NO_POSITION;
+
+    RangeDragListener(Context context, RecyclerView recyclerView, Callback callback) {
+        this.recyclerView = recyclerView;
+        this.callback = callback;
+        this.gestureDetector = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public void onLongPress(MotionEvent e) {
+                int position = positionUnder(e);
+                if (position != RecyclerView.NO_POSITION && callback.onRangeDragStart(position)) {
+                    dragging = true;
+                    lastPosition = position;
+                    recyclerView.getParent().requestDisallowInterceptTouchEvent(true);
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        if (!dragging) {
+            gestureDetector.onTouchEvent(e);
+        }
+        return dragging;
+    }
+
+    @Override
+    public void onTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        switch (e.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+                int position = positionUnder(e);
+                if (position != RecyclerView.NO_POSITION && position != lastPosition) {
+                    lastPosition = position;
+                    callback.onRangeDragMove(position);
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                dragging = false;
+                lastPosition = RecyclerView.NO_POSITION;
+                callback.onRangeDragEnd();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+        // Nothing to release; the drag ends with the gesture
+    }
+
+    private int positionUnder(MotionEvent e) {
+        // Cells fill the whole height, so only x matters
+        View child = recyclerView.findChildViewUnder(e.getX(), recyclerView.getHeight() / 2f);
+        return child != null ? recyclerView.getChildAdapterPosition(child) : RecyclerView.NO_POSITION;
+    }
+}
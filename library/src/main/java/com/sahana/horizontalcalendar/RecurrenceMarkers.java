@@ -0,0 +1,154 @@
+package com.sahana.horizontalcalendar;
+
+import java.util.Arrays;
+
+/**
+ * Marker values of {@link RecurrenceRule}s, evaluated one Gregorian month at a time when a
+ * day of that month is first read.
+ * <p>
+ * Rules are never expanded over the calendar's range: reading a day evaluates every rule
+ * for its month only, and the merged values of the last {@link #CACHE_MONTHS} months read
+ * are kept in reused arrays with least-recently-used eviction. Rules whose month, interval,
+ * start or end excludes the month are skipped without looking at its days. Main thread only.
+ */
+final class RecurrenceMarkers {
+
+    /** Months kept; covers the visible days plus the cells RecyclerView binds around them. */
+    static final int CACHE_MONTHS = 4;
+
+    private RecurrenceRule[] rules = new RecurrenceRule[4];
+    private int[] ruleValues = new int[4];
+    private int ruleCount;
+
+    /** First day and length of each cached month, and the merged values of its days. */
+    private final long[] cachedFirstDays = new long[CACHE_MONTHS];
+    private final int[] cachedLengths = new int[CACHE_MONTHS];
+    private final int[][] cachedValues = new int[CACHE_MONTHS][31];
+    /** Use stamp of each cached month; the smallest is evicted first. */
+    private final long[] lastUsed = new long[CACHE_MONTHS];
+    private int cacheSize;
+    private long useClock;
+
+    /** Cache slot of the most recent hit; consecutive binds usually fall into the same month. */
+    private int lastHit = -1;
+
+    /**
+     * Adds a rule; its days get the given value, merged with the values of other rules.
+     *
+     * @param rule  recurrence
+     * @param value packed marker value
+     */
+    void add(RecurrenceRule rule, int value) {
+        if (ruleCount == rules.length) {
+            rules = Arrays.copyOf(rules, ruleCount * 2);
+            ruleValues = Arrays.copyOf(ruleValues, ruleCount * 2);
+        }
+        rules[ruleCount] = rule;
+        ruleValues[ruleCount] = value;
+        ruleCount++;
+        invalidate();
+    }
+
+    /**
+     * Removes every occurrence of the rule.
+     *
+     * @return true if the rule was present
+     */
+    boolean remove(RecurrenceRule rule) {
+        int kept = 0;
+        for (int i = 0; i < ruleCount; i++) {
+            if (rules[i] != rule) {
+                rules[kept] = rules[i];
+                ruleValues[kept] = ruleValues[i];
+                kept++;
+            }
+        }
+        boolean removed = kept != ruleCount;
+        Arrays.fill(rules, kept, ruleCount, null);
+        ruleCount = kept;
+        if (removed) invalidate();
+        return removed;
+    }
+
+    /** Removes all rules. */
+    void clear() {
+        Arrays.fill(rules, 0, ruleCount, null);
+        ruleCount = 0;
+        invalidate();
+    }
+
+    /** Returns the number of rules. */
+    int size() {
+        return ruleCount;
+    }
+
+    /**
+     * Returns the merged value of all rules falling on the day, or 0 if none does.
+     * Evaluates the day's month on first use.
+     */
+    int get(long epochDay) {
+        if (ruleCount == 0) return 0;
+
+        int slot = findCached(epochDay);
+        if (slot < 0) {
+            slot = evaluateMonth(epochDay);
+        }
+        lastUsed[slot] = ++useClock;
+        return cachedValues[slot][(int) (epochDay - cachedFirstDays[slot])];
+    }
+
+    /** Drops the evaluated months, e.g. after the rules changed. */
+    private void invalidate() {
+        cacheSize = 0;
+        lastHit = -1;
+    }
+
+    private int findCached(long epochDay) {
+        if (lastHit >= 0 && contains(lastHit, epochDay)) return lastHit;
+        for (int i = 0; i < cacheSize; i++) {
+            if (contains(i, epochDay)) {
+                lastHit = i;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean contains(int slot, long epochDay) {
+        long offset = epochDay - cachedFirstDays[slot];
+        return offset >= 0 && offset < cachedLengths[slot];
+    }
+
+    /**
+     * Evaluates all rules for the month of the given day into a free or the least recently
+     * used slot.
+     *
+     * @return the slot
+     */
+    private int evaluateMonth(long epochDay) {
+        int slot;
+        if (cacheSize < CACHE_MONTHS) {
+            slot = cacheSize++;
+        } else {
+            slot = 0;
+            for (int i = 1; i < cacheSize; i++) {
+                if (lastUsed[i] < lastUsed[slot]) slot = i;
+            }
+        }
+
+        int year = EpochDays.year(epochDay);
+        int month = EpochDays.month(epochDay);
+        long firstDay = EpochDays.of(year, month, 1);
+        int length = EpochDays.monthLength(year, month);
+        int[] values = cachedValues[slot];
+        Arrays.fill(values, 0);
+        for (int i = 0; i < ruleCount; i++) {
+            rules[i].mergeMonth(year, month, firstDay, values, length, ruleValues[i]);
+        }
+
+        cachedFirstDays[slot] = firstDay;
+        cachedLengths[slot] = length;
+        lastHit = slot;
+        return slot;
+    }
+}
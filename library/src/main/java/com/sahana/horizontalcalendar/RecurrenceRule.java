@@ -0,0 +1,352 @@
+package com.sahana.horizontalcalendar;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * A repeating set of days, written as a subset of the iCalendar {@code RRULE} syntax
+ * (RFC 5545), for markers that recur, e.g. paydays or shifts.
+ * <p>
+ * Supported parts: {@code FREQ} ({@code DAILY}, {@code WEEKLY}, {@code MONTHLY},
+ * {@code YEARLY}), {@code INTERVAL}, {@code UNTIL} (a date, or a date-time whose date is
+ * used), {@code BYDAY} (with ordinals such as {@code -1FR} in monthly and yearly rules with
+ * {@code BYMONTH}), {@code BYMONTHDAY} (negative values count from the month end),
+ * {@code BYMONTH} and {@code WKST}. {@code COUNT} and the other parts are rejected,
+ * since they cannot be evaluated for one month without expanding every earlier one.
+ * Examples:
+ * <pre>
+ * FREQ=MONTHLY;BYMONTHDAY=15,-1      the 15th and the last day of every month
+ * FREQ=DAILY;INTERVAL=3              every third day from the start day
+ * FREQ=MONTHLY;BYDAY=-1FR            the last Friday of every month
+ * </pre>
+ * Rules are immutable. Dates are Gregorian epoch days.
+ */
+public final class RecurrenceRule {
+
+    private static final int DAILY = 0;
+    private static final int WEEKLY = 1;
+    private static final int MONTHLY = 2;
+    private static final int YEARLY = 3;
+
+    /** Two-letter weekday codes, indexed by {@link Calendar#DAY_OF_WEEK}. */
+    private static final String[] WEEKDAY_CODES = {null, "SU", "MO", "TU", "WE", "TH", "FR", "SA"};
+
+    private final String text;
+    private final long startEpochDay;
+    private final long untilEpochDay;
+    private final int frequency;
+    private final int interval;
+
+    /** Bit {@code d} set for each {@code BYDAY} weekday without an ordinal. */
+    private final int weekdayMask;
+
+    /** {@code BYDAY} entries with an ordinal, as parallel arrays. */
+    private final int[] ordinalWeekdays;
+    private final int[] ordinals;
+
+    /** Bit {@code d} set for {@code BYMONTHDAY=d} and {@code BYMONTHDAY=-d}, respectively. */
+    private final long monthDayMask;
+    private final long negativeMonthDayMask;
+
+    /** Bit {@code m} set for each 0-based {@code BYMONTH}. */
+    private final int monthMask;
+
+    /** First day of the week the start day falls in, for weekly intervals. */
+    private final long startWeek;
+
+    private final int startYear;
+    private final int startMonth;
+    private final int startDayOfMonth;
+
+    private RecurrenceRule(String text, long startEpochDay, long untilEpochDay, int frequency, int interval,
+                           int weekdayMask, int[] ordinalWeekdays, int[] ordinals,
+                           long monthDayMask, long negativeMonthDayMask, int monthMask, int weekStart) {
+        this.text = text;
+        this.startEpochDay = startEpochDay;
+        this.untilEpochDay = untilEpochDay;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.weekdayMask = weekdayMask;
+        this.ordinalWeekdays = ordinalWeekdays;
+        this.ordinals = ordinals;
+        this.monthDayMask = monthDayMask;
+        this.negativeMonthDayMask = negativeMonthDayMask;
+        this.monthMask = monthMask;
+        this.startWeek = startEpochDay - Math.floorMod(EpochDays.dayOfWeek(startEpochDay) - weekStart, 7L);
+        this.startYear = EpochDays.year(startEpochDay);
+        this.startMonth = EpochDays.month(startEpochDay);
+        this.startDayOfMonth = EpochDays.dayOfMonth(startEpochDay);
+    }
+
+    /**
+     * Parses a rule.
+     *
+     * @param rule          rule text, with or without the {@code RRULE:} prefix
+     * @param startEpochDay first day of the recurrence ({@code DTSTART}); also supplies the
+     *                      weekday, day of month and month the rule does not give
+     * @return the rule
+     * @throws IllegalArgumentException if the text is malformed or uses unsupported parts
+     */
+    public static RecurrenceRule parse(String rule, long startEpochDay) {
+        String text = rule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            text = text.substring(6);
+        }
+
+        int frequency = -1;
+        int interval = 1;
+        long until = Long.MAX_VALUE;
+        int weekdayMask = 0;
+        int[] ordinalWeekdays = new int[0];
+        int[] ordinals = new int[0];
+        long monthDayMask = 0;
+        long negativeMonthDayMask = 0;
+        int monthMask = 0;
+        int weekStart = Calendar.MONDAY;
+
+        for (String part : text.split(";")) {
+            if (part.isEmpty()) continue;
+            int equals = part.indexOf('=');
+            if (equals <= 0) throw invalid(rule, part);
+            String name = part.substring(0, equals).toUpperCase(Locale.ROOT);
+            String value = part.substring(equals + 1).toUpperCase(Locale.ROOT);
+            switch (name) {
+                case "FREQ":
+                    frequency = parseFrequency(rule, value);
+                    break;
+                case "INTERVAL":
+                    interval = parseInt(rule, value, 1, Integer.MAX_VALUE);
+                    break;
+                case "UNTIL":
+                    until = parseDate(rule, value);
+                    break;
+                case "BYDAY": {
+                    String[] entries = value.split(",");
+                    ordinalWeekdays = new int[entries.length];
+                    ordinals = new int[entries.length];
+                    int ordinalCount = 0;
+                    for (String entry : entries) {
+                        if (entry.length() < 2) throw invalid(rule, entry);
+                        int split = entry.length() - 2;
+                        int weekday = parseWeekday(rule, entry.substring(split));
+                        if (split == 0) {
+                            weekdayMask |= 1 << weekday;
+                        } else {
+                            ordinalWeekdays[ordinalCount] = weekday;
+                            ordinals[ordinalCount++] = parseOrdinal(rule, entry.substring(0, split), 5);
+                        }
+                    }
+                    ordinalWeekdays = Arrays.copyOf(ordinalWeekdays, ordinalCount);
+                    ordinals = Arrays.copyOf(ordinals, ordinalCount);
+                    break;
+                }
+                case "BYMONTHDAY":
+                    for (String entry : value.split(",")) {
+                        int day = parseOrdinal(rule, entry, 31);
+                        if (day > 0) {
+                            monthDayMask |= 1L << day;
+                        } else {
+                            negativeMonthDayMask |= 1L << -day;
+                        }
+                    }
+                    break;
+                case "BYMONTH":
+                    for (String entry : value.split(",")) {
+                        monthMask |= 1 << (parseInt(rule, entry, 1, 12) - 1);
+                    }
+                    break;
+                case "WKST":
+                    weekStart = parseWeekday(rule, value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported rule part " + name + " in " + rule);
+            }
+        }
+
+        if (frequency < 0) throw new IllegalArgumentException("Missing FREQ in " + rule);
+        if (ordinals.length > 0 && (frequency == DAILY || frequency == WEEKLY
+                || (frequency == YEARLY && monthMask == 0))) {
+            throw new IllegalArgumentException(
+                    "BYDAY ordinals need FREQ=MONTHLY, or FREQ=YEARLY with BYMONTH, in " + rule);
+        }
+        return new RecurrenceRule(rule, startEpochDay, until, frequency, interval, weekdayMask,
+                ordinalWeekdays, ordinals, monthDayMask, negativeMonthDayMask, monthMask, weekStart);
+    }
+
+    /**
+     * Returns the first day of the recurrence.
+     */
+    public long getStartEpochDay() {
+        return startEpochDay;
+    }
+
+    /**
+     * Returns the last day the recurrence may fall on, or {@link Long#MAX_VALUE} if unbounded.
+     */
+    public long getUntilEpochDay() {
+        return untilEpochDay;
+    }
+
+    /**
+     * Returns whether the rule falls on the given day.
+     */
+    public boolean occursOn(long epochDay) {
+        int year = EpochDays.year(epochDay);
+        int month = EpochDays.month(epochDay);
+        long firstDay = EpochDays.of(year, month, 1);
+        int length = EpochDays.monthLength(year, month);
+        return occursInMonth(year, month, firstDay + length - 1)
+                && occursOn(epochDay, (int) (epochDay - firstDay) + 1, length);
+    }
+
+    /**
+     * Merges the given marker value into the days of one month the rule falls on.
+     *
+     * @param year     Gregorian year
+     * @param month    0-based month
+     * @param firstDay epoch day of the first of the month
+     * @param out      values of the month's days, indexed from 0
+     * @param length   number of days of the month
+     * @param value    packed marker value to merge
+     */
+    void mergeMonth(int year, int month, long firstDay, int[] out, int length, int value) {
+        long lastDay = firstDay + length - 1;
+        if (lastDay < startEpochDay || firstDay > untilEpochDay) return;
+        if (!occursInMonth(year, month, lastDay)) return;
+
+        // Clamp before subtracting: without UNTIL, untilEpochDay is Long.MAX_VALUE
+        int from = (int) (Math.max(firstDay, startEpochDay) - firstDay);
+        int to = (int) (Math.min(lastDay, untilEpochDay) - firstDay);
+        for (int i = from; i <= to; i++) {
+            if (occursOn(firstDay + i, i + 1, length)) {
+                out[i] = DayMarkers.merge(out[i], value);
+            }
+        }
+    }
+
+    /**
+     * Month-level test: whether any day of the month can match, ignoring start and until.
+     */
+    private boolean occursInMonth(int year, int month, long lastDay) {
+        if (lastDay < startEpochDay) return false;
+        if (monthMask != 0 && (monthMask & (1 << month)) == 0) return false;
+        switch (frequency) {
+            case MONTHLY:
+                long months = (year - (long) startYear) * 12 + month - startMonth;
+                return months % interval == 0;
+            case YEARLY:
+                // BYMONTHDAY and plain BYDAY expand over every month, like BYMONTH does
+                return (year - startYear) % interval == 0
+                        && (monthMask != 0 || hasMonthDays() || weekdayMask != 0 || month == startMonth);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Day-level test within a month that passed {@link #occursInMonth}.
+     */
+    private boolean occursOn(long epochDay, int dayOfMonth, int monthLength) {
+        if (epochDay < startEpochDay || epochDay > untilEpochDay) return false;
+        int dayOfWeek = EpochDays.dayOfWeek(epochDay);
+        switch (frequency) {
+            case DAILY:
+                return (epochDay - startEpochDay) % interval == 0
+                        && (weekdayMask == 0 || (weekdayMask & (1 << dayOfWeek)) != 0)
+                        && (!hasMonthDays() || matchesMonthDay(dayOfMonth, monthLength));
+            case WEEKLY: {
+                if (Math.floorDiv(epochDay - startWeek, 7) % interval != 0) return false;
+                int weekdays = weekdayMask != 0 ? weekdayMask : 1 << EpochDays.dayOfWeek(startEpochDay);
+                return (weekdays & (1 << dayOfWeek)) != 0
+                        && (!hasMonthDays() || matchesMonthDay(dayOfMonth, monthLength));
+            }
+            default: {
+                boolean hasWeekdays = weekdayMask != 0 || ordinals.length > 0;
+                if (!hasWeekdays && !hasMonthDays()) return dayOfMonth == startDayOfMonth;
+                return (!hasWeekdays || matchesWeekday(dayOfWeek, dayOfMonth, monthLength))
+                        && (!hasMonthDays() || matchesMonthDay(dayOfMonth, monthLength));
+            }
+        }
+    }
+
+    private boolean hasMonthDays() {
+        return monthDayMask != 0 || negativeMonthDayMask != 0;
+    }
+
+    private boolean matchesMonthDay(int dayOfMonth, int monthLength) {
+        return (monthDayMask & (1L << dayOfMonth)) != 0
+                || (negativeMonthDayMask & (1L << (monthLength - dayOfMonth + 1))) != 0;
+    }
+
+    private boolean matchesWeekday(int dayOfWeek, int dayOfMonth, int monthLength) {
+        if ((weekdayMask & (1 << dayOfWeek)) != 0) return true;
+        for (int i = 0; i < ordinals.length; i++) {
+            if (ordinalWeekdays[i] != dayOfWeek) continue;
+            int ordinal = ordinals[i];
+            int occurrence = ordinal > 0
+                    ? (dayOfMonth - 1) / 7 + 1
+                    : -((monthLength - dayOfMonth) / 7 + 1);
+            if (occurrence == ordinal) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static int parseFrequency(String rule, String value) {
+        switch (value) {
+            case "DAILY":
+                return DAILY;
+            case "WEEKLY":
+                return WEEKLY;
+            case "MONTHLY":
+                return MONTHLY;
+            case "YEARLY":
+                return YEARLY;
+            default:
+                throw new IllegalArgumentException("Unsupported FREQ " + value + " in " + rule);
+        }
+    }
+
+    private static int parseWeekday(String rule, String code) {
+        for (int day = Calendar.SUNDAY; day <= Calendar.SATURDAY; day++) {
+            if (WEEKDAY_CODES[day].equals(code)) return day;
+        }
+        throw invalid(rule, code);
+    }
+
+    /** Parses a non-zero value in {@code -max..max}, with an optional sign. */
+    private static int parseOrdinal(String rule, String value, int max) {
+        String digits = value.startsWith("+") ? value.substring(1) : value;
+        int ordinal = parseInt(rule, digits, -max, max);
+        if (ordinal == 0) throw invalid(rule, value);
+        return ordinal;
+    }
+
+    private static int parseInt(String rule, String value, int min, int max) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number >= min && number <= max) return number;
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw invalid(rule, value);
+    }
+
+    /** Parses {@code YYYYMMDD}, optionally followed by a time, into an epoch day. */
+    private static long parseDate(String rule, String value) {
+        if (value.length() < 8) throw invalid(rule, value);
+        int year = parseInt(rule, value.substring(0, 4), 1, 9999);
+        int month = parseInt(rule, value.substring(4, 6), 1, 12);
+        int day = parseInt(rule, value.substring(6, 8), 1, EpochDays.monthLength(year, month - 1));
+        return EpochDays.of(year, month - 1, day);
+    }
+
+    private static IllegalArgumentException invalid(String rule, String part) {
+        return new IllegalArgumentException("Invalid value " + part + " in rule " + rule);
+    }
+}
@@ -0,0 +1,58 @@
+package com.sahana.horizontalcalendar;
+
+import android.view.Choreographer;
+
+/**
+ * Reports frame intervals to {@link HorizontalCalendarMetrics} while the calendar scrolls.
+ * <p>
+ * A {@link Choreographer} frame callback is posted only between {@link #start} and
+ * {@link #stop}, so nothing runs while the calendar is idle.
+ */
+final class ScrollFrameTracker implements Choreographer.FrameCallback {
+
+    private HorizontalCalendarMetrics metrics;
+
+    /** Expected time between frames at the display refresh rate. */
+    private long refreshIntervalNanos;
+
+    /** Vsync time of the previous frame, or 0 before the first frame of a scroll. */
+    private long lastFrameNanos;
+
+    private boolean running;
+
+    /**
+     * Starts reporting frames.
+     *
+     * @param metrics     receiver of the frame intervals
+     * @param refreshRate display refresh rate in Hz
+     */
+    void start(HorizontalCalendarMetrics metrics, float refreshRate) {
+        this.metrics = metrics;
+        this.refreshIntervalNanos = (long) (1_000_000_000L / (refreshRate > 0 ? refreshRate : 60f));
+        if (running) return;
+        running = true;
+        lastFrameNanos = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /** Stops reporting frames. */
+    void stop() {
+        if (!running) return;
+        running = false;
+        metrics = null;
+        Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) return;
+
+        if (lastFrameNanos != 0) {
+            long interval = frameTimeNanos - lastFrameNanos;
+            int dropped = (int) Math.max(0, Math.round((double) interval / refreshIntervalNanos) - 1);
+            metrics.onScrollFrame(interval, dropped);
+        }
+        lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+}
@@ -0,0 +1,150 @@
+package com.sahana.horizontalcalendar;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers the single-selection events of a {@link HorizontalCalendar}: once per settled day.
+ * <p>
+ * Every path that selects the centered day (end of a scroll, fling or smooth scroll, instant
+ * jumps) reports here, and a day equal to the last delivered one is dropped, so a tap that
+ * scrolls and settles produces one event. With a debounce, a settled day is delivered only
+ * once the calendar stayed idle that long; a scroll starting in between holds it back. A day
+ * that settles while no listener is set is kept and delivered to the first listener set,
+ * so the initial date reaches a listener set after {@code setInitialDate}. The
+ * epoch-day listener never allocates; a {@link java.util.Calendar} is only created for the
+ * Calendar listener. Methods are called on the main thread; listeners run there or on the
+ * given executor.
+ */
+final class SelectionDispatcher {
+
+    /** Marks that no day has been delivered or is pending. */
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private HorizontalCalendar.OnDateSelectedListener dateListener;
+    private HorizontalCalendar.OnDaySelectedListener dayListener;
+
+    /** Executor the listeners run on, or null for the main thread. */
+    private Executor executor;
+
+    private long debounceMillis;
+
+    /** Last day handed to the listeners. */
+    private long lastDispatchedDay = NONE;
+
+    /** Settled day that found no listener to deliver to, or {@link #NONE}. */
+    private long undeliveredDay = NONE;
+
+    /** Settled day waiting for the debounce, or {@link #NONE}. */
+    private long pendingDay = NONE;
+
+    private final Runnable dispatchPending = () -> {
+        long day = pendingDay;
+        pendingDay = NONE;
+        if (day != NONE && day != lastDispatchedDay) {
+            dispatch(day);
+        }
+    };
+
+    void setDateListener(HorizontalCalendar.OnDateSelectedListener listener) {
+        dateListener = listener;
+        dispatchUndelivered();
+    }
+
+    void setDayListener(HorizontalCalendar.OnDaySelectedListener listener) {
+        dayListener = listener;
+        dispatchUndelivered();
+    }
+
+    /**
+     * @param executor executor for the listeners, or null for the main thread
+     */
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param millis idle time before a settled day is delivered; 0 delivers at once
+     */
+    void setDebounceMillis(long millis) {
+        debounceMillis = Math.max(0, millis);
+        if (debounceMillis == 0 && pendingDay != NONE) {
+            mainHandler.removeCallbacks(dispatchPending);
+            dispatchPending.run();
+        }
+    }
+
+    /**
+     * Reports the day the calendar settled on.
+     */
+    void onDaySettled(long epochDay) {
+        if (debounceMillis == 0) {
+            if (epochDay != lastDispatchedDay) {
+                dispatch(epochDay);
+            }
+            return;
+        }
+        pendingDay = epochDay;
+        mainHandler.removeCallbacks(dispatchPending);
+        mainHandler.postDelayed(dispatchPending, debounceMillis);
+    }
+
+    /**
+     * Reports that the calendar started scrolling; holds back a debounced day until the
+     * next settle.
+     */
+    void onScrollStarted() {
+        mainHandler.removeCallbacks(dispatchPending);
+    }
+
+    /**
+     * Drops a day waiting for the debounce, e.g. when the calendar is detached.
+     */
+    void cancelPending() {
+        pendingDay = NONE;
+        mainHandler.removeCallbacks(dispatchPending);
+    }
+
+    /**
+     * Delivers a day that settled before any listener was set, once one is.
+     */
+    private void dispatchUndelivered() {
+        if (undeliveredDay != NONE && (dayListener != null || dateListener != null)) {
+            dispatch(undeliveredDay);
+        }
+    }
+
+    private void dispatch(long epochDay) {
+        HorizontalCalendar.OnDaySelectedListener dayListener = this.dayListener;
+        HorizontalCalendar.OnDateSelectedListener dateListener = this.dateListener;
+        if (dayListener == null && dateListener == null) {
+            // Not recorded as delivered, so a listener set later still receives it
+            undeliveredDay = epochDay;
+            return;
+        }
+        undeliveredDay = NONE;
+        lastDispatchedDay = epochDay;
+
+        Executor executor = this.executor;
+        if (executor == null) {
+            deliver(dayListener, dateListener, epochDay);
+        } else {
+            executor.execute(() -> deliver(dayListener, dateListener, epochDay));
+        }
+    }
+
+    private static void deliver(HorizontalCalendar.OnDaySelectedListener dayListener,
+                                HorizontalCalendar.OnDateSelectedListener dateListener,
+                                long epochDay) {
+        if (dayListener != null) {
+            dayListener.onDaySelected(epochDay);
+        }
+        if (dateListener != null) {
+            dateListener.onDateSelected(EpochDays.toCalendar(epochDay));
+        }
+    }
+}
@@ -1,33 +1,89 @@
 package com.sahana.horizontalcalendar;
 
+import android.animation.ObjectAnimator;
 import android.content.Context;
+import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.RecordingCanvas;
 import android.graphics.RectF;
+import android.graphics.RenderNode;
+import android.os.Build;
 import android.util.AttributeSet;
+import android.util.Property;
+import android.util.TypedValue;
 import android.view.View;
 
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 /**
  * A View that draws a rounded-rectangle selection frame with
  * semi-transparent fill to highlight the currently selected date cell.
+ * <p>
+ * The frame is centered horizontally and {@link #setFrameWidth(float) frameWidth} wide,
+ * which may be animated, e.g. to grow over a range. On API 29+ with hardware acceleration,
+ * its left cap, middle and right cap are recorded once into {@link RenderNode}s and only
+ * re-recorded when the size or style changes; a width animation just moves and stretches
+ * them. Elsewhere the geometry is still computed only when it changes. Style it with the
+ * {@code selectionFrameStyle} theme attribute.
  */
 public class SelectionFrameView extends View {
+
+    /**
+     * Animatable frame width in pixels, for {@link ObjectAnimator}. Unlike
+     * {@link #setFrameWidth(float)}, setting it does not cancel {@link #animateFrameWidth}.
+     */
+    public static final Property<SelectionFrameView, Float> FRAME_WIDTH =
+            new Property<SelectionFrameView, Float>(Float.class, "frameWidth") {
+                @Override
+                public Float get(SelectionFrameView view) {
+                    return view.getFrameWidth();
+                }
+
+                @Override
+                public void set(SelectionFrameView view, Float value) {
+                    view.applyFrameWidth(value);
+                }
+            };
+
     /** Paint used for the semi-transparent fill of the frame. */
     private Paint fillPaint;
     /** Paint used for the border stroke of the frame. */
     private Paint borderPaint;
-    /** Rectangle defining the drawing bounds for the frame. */
+    /** Rectangle defining the drawing bounds for the frame; updated only when it changes. */
     private RectF rect;
 
+    /** Corner radius of the frame in pixels. */
+    private float cornerRadius;
+
+    /** Default frame width, the width of a day cell. */
+    static final int DEFAULT_FRAME_WIDTH_DP = 48;
+
+    /** Default style, shared with the frame {@link DateStripView} draws in canvas mode. */
+    static final int DEFAULT_FILL_COLOR = 0x1A4285F4;
+    static final int DEFAULT_BORDER_COLOR = 0xFF4285F4;
+    static final float DEFAULT_BORDER_WIDTH = 3f;
+    static final float DEFAULT_CORNER_RADIUS = 16f;
+
+    /** Width of the frame in pixels, or a negative value to fill the view. */
+    private float frameWidth;
+
+    /** Running width animation, or null. */
+    private ObjectAnimator frameWidthAnimator;
+
+    /** Recorded frame parts (API 29+), created on the first hardware-accelerated draw. */
+    private Object frameNodes;
+
+    /** Whether {@link #frameNodes} must be recorded again before drawing. */
+    private boolean recordingDirty = true;
+
     /**
      * Constructor for creating the view in code.
      * @param context the context to use
      */
     public SelectionFrameView(Context context) {
-        super(context);
-        init();
+        this(context, null);
     }
 
     /**
@@ -36,8 +92,7 @@ public class SelectionFrameView extends View {
      * @param attrs the attribute set from XML
      */
     public SelectionFrameView(Context context, @Nullable AttributeSet attrs) {
-        super(context, attrs);
-        init();
+        this(context, attrs, R.attr.selectionFrameStyle);
     }
 
     /**
@@ -48,47 +103,235 @@ public class SelectionFrameView extends View {
      */
     public SelectionFrameView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        init();
+        init(context, attrs, defStyleAttr);
     }
 
     /**
-     * Initializes paint objects and the rectangle used for drawing.
+     * Initializes paint objects and the rectangle used for drawing from the
+     * {@code SelectionFrameView} attributes.
      */
-    private void init() {
+    private void init(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.SelectionFrameView, defStyleAttr, 0);
+
         fillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         fillPaint.setStyle(Paint.Style.FILL);
-        // Semi-transparent blue fill
-        fillPaint.setColor(0x1A4285F4);
+        fillPaint.setColor(typedArray.getColor(R.styleable.SelectionFrameView_selectionFillColor, DEFAULT_FILL_COLOR));
 
         borderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         borderPaint.setStyle(Paint.Style.STROKE);
-        borderPaint.setStrokeWidth(3f);
-        // Solid blue border
-        borderPaint.setColor(0xFF4285F4);
+        borderPaint.setStrokeWidth(typedArray.getDimension(R.styleable.SelectionFrameView_selectionBorderWidth, DEFAULT_BORDER_WIDTH));
+        borderPaint.setColor(typedArray.getColor(R.styleable.SelectionFrameView_selectionBorderColor, DEFAULT_BORDER_COLOR));
+
+        cornerRadius = typedArray.getDimension(R.styleable.SelectionFrameView_selectionCornerRadius, DEFAULT_CORNER_RADIUS);
+        float defaultFrameWidth = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP,
+                DEFAULT_FRAME_WIDTH_DP, getResources().getDisplayMetrics());
+        frameWidth = typedArray.getDimension(R.styleable.SelectionFrameView_selectionFrameWidth, defaultFrameWidth);
+        typedArray.recycle();
 
         rect = new RectF();
     }
 
     /**
-     * Draws the rounded rectangle frame and fill.
-     * @param canvas the canvas on which to draw
+     * Sets the fill color of the frame.
+     */
+    public void setFillColor(int color) {
+        fillPaint.setColor(color);
+        invalidateRecording();
+    }
+
+    /**
+     * Sets the border color of the frame.
      */
+    public void setBorderColor(int color) {
+        borderPaint.setColor(color);
+        invalidateRecording();
+    }
+
+    /**
+     * Sets the border stroke width of the frame in pixels.
+     */
+    public void setBorderWidth(float width) {
+        borderPaint.setStrokeWidth(width);
+        invalidateRecording();
+    }
+
+    /**
+     * Sets the corner radius of the frame in pixels.
+     */
+    public void setCornerRadius(float radius) {
+        cornerRadius = radius;
+        invalidateRecording();
+    }
+
+    /**
+     * Returns the width of the frame in pixels.
+     */
+    public float getFrameWidth() {
+        return frameWidth < 0 ? getWidth() : frameWidth;
+    }
+
+    /**
+     * Sets the width of the frame, which stays centered in the view. Cancels a running
+     * width animation. Changing the width does not re-record the frame.
+     *
+     * @param width width in pixels, or a negative value to fill the view
+     */
+    public void setFrameWidth(float width) {
+        if (frameWidthAnimator != null) {
+            frameWidthAnimator.cancel();
+            frameWidthAnimator = null;
+        }
+        applyFrameWidth(width);
+    }
+
+    /**
+     * Sets the frame width for an animation frame; moves the recorded parts only.
+     */
+    private void applyFrameWidth(float width) {
+        frameWidth = width;
+        updateGeometry();
+        invalidate();
+    }
+
+    /**
+     * Animates the frame to the given width, e.g. to grow over a range of days.
+     *
+     * @param width      target width in pixels
+     * @param durationMs animation duration in ms
+     */
+    public void animateFrameWidth(float width, long durationMs) {
+        if (frameWidthAnimator != null) {
+            frameWidthAnimator.cancel();
+        }
+        ObjectAnimator animator = ObjectAnimator.ofFloat(this, FRAME_WIDTH, getFrameWidth(), width);
+        animator.setDuration(durationMs);
+        frameWidthAnimator = animator;
+        animator.start();
+    }
+
+    private void invalidateRecording() {
+        recordingDirty = true;
+        updateGeometry();
+        invalidate();
+    }
+
     @Override
-    protected void onDraw(Canvas canvas) {
-        super.onDraw(canvas);
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        recordingDirty = true;
+        updateGeometry();
+    }
 
+    /**
+     * Recomputes the frame rectangle and, if recorded, places the frame parts.
+     */
+    private void updateGeometry() {
+        float width = Math.max(getFrameWidth(), capWidth() * 2);
+        float left = (getWidth() - width) / 2f;
         float halfStroke = borderPaint.getStrokeWidth() / 2f;
         // Inset the rect by half the stroke width so the border is fully visible
-        rect.left   = halfStroke;
+        rect.left   = left + halfStroke;
         rect.top    = halfStroke;
-        rect.right  = getWidth()  - halfStroke;
+        rect.right  = left + width - halfStroke;
         rect.bottom = getHeight() - halfStroke;
 
-        float radius = 16f; // corner radius in pixels
+        if (frameNodes != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            ((FrameNodes) frameNodes).place(left, width, capWidth());
+        }
+    }
+
+    /** Width of the rounded end parts, covering the corner radius and the border. */
+    private int capWidth() {
+        return (int) Math.ceil(cornerRadius + borderPaint.getStrokeWidth());
+    }
+
+    /**
+     * Draws the rounded rectangle frame and fill.
+     * @param canvas the canvas on which to draw
+     */
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        boolean traced = CalendarTrace.beginSection(CalendarTrace.DRAW_SELECTION_FRAME);
+        try {
+            drawFrame(canvas);
+        } finally {
+            CalendarTrace.endSection(traced);
+        }
+    }
+
+    private void drawFrame(Canvas canvas) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && canvas.isHardwareAccelerated()) {
+            if (frameNodes == null) {
+                frameNodes = new FrameNodes();
+                recordingDirty = true;
+            }
+            FrameNodes nodes = (FrameNodes) frameNodes;
+            if (recordingDirty) {
+                nodes.record(capWidth(), getHeight(), cornerRadius, fillPaint, borderPaint);
+                recordingDirty = false;
+                updateGeometry();
+            }
+            nodes.draw(canvas);
+            return;
+        }
 
         // Draw fill first, then border on top
-        canvas.drawRoundRect(rect, radius, radius, fillPaint);
-        canvas.drawRoundRect(rect, radius, radius, borderPaint);
+        canvas.drawRoundRect(rect, cornerRadius, cornerRadius, fillPaint);
+        canvas.drawRoundRect(rect, cornerRadius, cornerRadius, borderPaint);
     }
-}
 
+    /**
+     * The frame recorded as three display lists: the rounded left and right ends, and a
+     * one pixel wide middle that is scaled to the frame width. Changing the width only
+     * moves and scales them.
+     */
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private static final class FrameNodes {
+        private final RenderNode left = new RenderNode("selectionFrameLeft");
+        private final RenderNode middle = new RenderNode("selectionFrameMiddle");
+        private final RenderNode right = new RenderNode("selectionFrameRight");
+        private final RectF shape = new RectF();
+
+        void record(int capWidth, int height, float radius, Paint fill, Paint border) {
+            float halfStroke = border.getStrokeWidth() / 2f;
+
+            // Each end shows one half of a rounded rect twice the end width, clipped to the node
+            left.setPosition(0, 0, capWidth, height);
+            RecordingCanvas canvas = left.beginRecording(capWidth, height);
+            shape.set(halfStroke, halfStroke, 2 * capWidth - halfStroke, height - halfStroke);
+            canvas.drawRoundRect(shape, radius, radius, fill);
+            canvas.drawRoundRect(shape, radius, radius, border);
+            left.endRecording();
+
+            right.setPosition(0, 0, capWidth, height);
+            canvas = right.beginRecording(capWidth, height);
+            shape.set(-capWidth + halfStroke, halfStroke, capWidth - halfStroke, height - halfStroke);
+            canvas.drawRoundRect(shape, radius, radius, fill);
+            canvas.drawRoundRect(shape, radius, radius, border);
+            right.endRecording();
+
+            // Drawn past both sides so scaling shows no antialiased seams
+            middle.setPosition(0, 0, 1, height);
+            middle.setPivotX(0);
+            canvas = middle.beginRecording(1, height);
+            canvas.drawRect(-1, halfStroke, 2, height - halfStroke, fill);
+            canvas.drawLine(-1, halfStroke, 2, halfStroke, border);
+            canvas.drawLine(-1, height - halfStroke, 2, height - halfStroke, border);
+            middle.endRecording();
+        }
+
+        void place(float frameLeft, float frameWidth, int capWidth) {
+            left.setTranslationX(frameLeft);
+            middle.setTranslationX(frameLeft + capWidth);
+            middle.setScaleX(Math.max(0f, frameWidth - 2 * capWidth));
+            right.setTranslationX(frameLeft + frameWidth - capWidth);
+        }
+
+        void draw(Canvas canvas) {
+            canvas.drawRenderNode(left);
+            canvas.drawRenderNode(middle);
+            canvas.drawRenderNode(right);
+        }
+    }
+}
@@ -13,10 +13,17 @@ import java.util.Calendar;
 /**
  * ItemDecoration that draws vertical dividers at the end of each week.
  * <p>
- * A divider is drawn after Sunday if weeks start on Monday, or after Saturday if weeks start on Sunday.
+ * A divider is drawn after Sunday if weeks start on Monday, or after Saturday if weeks start on Sunday,
+ * unless another last day of the week is given, e.g. by a {@link CalendarChronology}.
+ * Week boundaries are found with modulo-7 arithmetic on epoch days, and all dividers of a frame
+ * are collected into a reused array and drawn with a single {@code drawLines} call.
  */
 public class WeekDividerDecoration extends RecyclerView.ItemDecoration {
 
+    /** Default divider color and stroke width in pixels, also used by the canvas render mode. */
+    static final int DEFAULT_COLOR = 0xFFCCCCCC;
+    static final float DEFAULT_WIDTH = 2f;
+
     /** Paint used to draw the dividers. */
     private final Paint paint;
 
@@ -26,25 +33,122 @@ public class WeekDividerDecoration extends RecyclerView.ItemDecoration {
      */
     private final boolean weekStartsOnMonday;
 
+    /** Last day of a week in {@link Calendar#DAY_OF_WEEK} form; a divider follows it. */
+    private final int lastDayOfWeek;
+
+    /**
+     * Offset such that {@code (position + boundaryPhase) % 7 == 0} exactly for
+     * positions showing the last day of a week.
+     */
+    private int boundaryPhase;
+
     /**
-     * Adapter position corresponding to the base date (zero offset).
-     * Used to calculate the date for each adapter position.
+     * Whether {@link #boundaryPhase} is taken from a {@link HorizontalCalendarAdapter} at
+     * draw time, for decorations built without a base day.
      */
-    private final int startPosition;
+    private final boolean phaseFromAdapter;
+
+    /** Distance in pixels between the divider ends and the top/bottom of the cell. */
+    private int inset;
+
+    /** Reused line coordinates (x0, y0, x1, y1 per divider). */
+    private float[] lines = new float[32];
+
+    /**
+     * Constructs a WeekDividerDecoration whose base date is today. On a
+     * {@link HorizontalCalendarAdapter} the week boundaries are taken from the days it shows
+     * instead, so the decoration stays correct when the calendar's window moves.
+     *
+     * @param weekStartsOnMonday true if week starts Monday (divider after Sunday),
+     *                           false if week starts Sunday (divider after Saturday)
+     * @param startPosition      adapter position corresponding to today
+     * @deprecated use {@link #WeekDividerDecoration(boolean, long, int)}, which takes the
+     * epoch day shown at {@code startPosition}
+     */
+    @Deprecated
+    public WeekDividerDecoration(boolean weekStartsOnMonday, int startPosition) {
+        this(weekStartsOnMonday ? Calendar.SUNDAY : Calendar.SATURDAY,
+                EpochDays.fromCalendar(Calendar.getInstance()), startPosition, true);
+    }
 
     /**
      * Constructs a WeekDividerDecoration.
      *
      * @param weekStartsOnMonday true if week starts Monday (divider after Sunday),
      *                           false if week starts Sunday (divider after Saturday)
+     * @param baseEpochDay       epoch day shown at {@code startPosition}
      * @param startPosition      adapter position corresponding to the base date
      */
-    public WeekDividerDecoration(boolean weekStartsOnMonday, int startPosition) {
-        this.weekStartsOnMonday = weekStartsOnMonday;
-        this.startPosition = startPosition;
+    public WeekDividerDecoration(boolean weekStartsOnMonday, long baseEpochDay, int startPosition) {
+        this(weekStartsOnMonday ? Calendar.SUNDAY : Calendar.SATURDAY, baseEpochDay, startPosition);
+    }
+
+    /**
+     * Constructs a WeekDividerDecoration that draws a divider after the given day of week.
+     *
+     * @param lastDayOfWeek last day of a week in {@link Calendar#DAY_OF_WEEK} form
+     * @param baseEpochDay  epoch day shown at {@code startPosition}
+     * @param startPosition adapter position corresponding to the base date
+     */
+    public WeekDividerDecoration(int lastDayOfWeek, long baseEpochDay, int startPosition) {
+        this(lastDayOfWeek, baseEpochDay, startPosition, false);
+    }
+
+    private WeekDividerDecoration(int lastDayOfWeek, long baseEpochDay, int startPosition,
+                                  boolean phaseFromAdapter) {
+        this.weekStartsOnMonday = lastDayOfWeek == Calendar.SUNDAY;
+        this.lastDayOfWeek = lastDayOfWeek;
+        this.phaseFromAdapter = phaseFromAdapter;
+
+        this.boundaryPhase = EpochDays.weekBoundaryPhase(lastDayOfWeek, baseEpochDay, startPosition);
+
         paint = new Paint();
-        paint.setColor(0xFFCCCCCC);
-        paint.setStrokeWidth(2f);
+        paint.setColor(DEFAULT_COLOR);
+        paint.setStrokeWidth(DEFAULT_WIDTH);
+    }
+
+    /**
+     * Returns whether the week starts on Monday.
+     */
+    public boolean isWeekStartsOnMonday() {
+        return weekStartsOnMonday;
+    }
+
+    /**
+     * Sets the divider color.
+     *
+     * @param color ARGB color
+     */
+    public void setColor(int color) {
+        paint.setColor(color);
+    }
+
+    /**
+     * Sets the divider stroke width.
+     *
+     * @param width width in pixels
+     */
+    public void setWidth(float width) {
+        paint.setStrokeWidth(width);
+    }
+
+    /**
+     * Sets how far the dividers stay away from the top and bottom of the cells.
+     *
+     * @param inset inset in pixels
+     */
+    public void setInset(int inset) {
+        this.inset = inset;
+    }
+
+    /**
+     * Returns whether the given adapter position shows the last day of a week.
+     *
+     * @param position adapter position
+     * @return true if a divider follows this position
+     */
+    boolean isWeekBoundary(int position) {
+        return EpochDays.isWeekBoundary(position, boundaryPhase);
     }
 
     /**
@@ -56,30 +160,44 @@ public class WeekDividerDecoration extends RecyclerView.ItemDecoration {
      */
     @Override
     public void onDrawOver(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        boolean traced = CalendarTrace.beginSection(CalendarTrace.DRAW_WEEK_DIVIDERS);
+        try {
+            drawDividers(canvas, parent);
+        } finally {
+            CalendarTrace.endSection(traced);
+        }
+    }
+
+    private void drawDividers(Canvas canvas, RecyclerView parent) {
+        if (phaseFromAdapter && parent.getAdapter() instanceof HorizontalCalendarAdapter) {
+            HorizontalCalendarAdapter adapter = (HorizontalCalendarAdapter) parent.getAdapter();
+            boundaryPhase = EpochDays.weekBoundaryPhase(lastDayOfWeek, adapter.getEpochDayAt(0), 0);
+        }
         int childCount = parent.getChildCount();
+        int count = 0;
 
         for (int i = 0; i < childCount; i++) {
             View child = parent.getChildAt(i);
             int position = parent.getChildAdapterPosition(child);
 
-            if (position == RecyclerView.NO_POSITION) {
+            if (position == RecyclerView.NO_POSITION || !isWeekBoundary(position)) {
                 continue;
             }
 
-            // Compute the date for this position
-            Calendar calendar = Calendar.getInstance();
-            int dayOffset = position - startPosition;
-            calendar.add(Calendar.DAY_OF_YEAR, dayOffset);
-            int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
-
-            boolean isWeekBoundary = weekStartsOnMonday
-                    ? (dayOfWeek == Calendar.SUNDAY)
-                    : (dayOfWeek == Calendar.SATURDAY);
-
-            if (isWeekBoundary) {
-                float x = child.getRight();
-                canvas.drawLine(x, child.getTop(), x, child.getBottom(), paint);
+            if (count + 4 > lines.length) {
+                float[] grown = new float[lines.length * 2];
+                System.arraycopy(lines, 0, grown, 0, count);
+                lines = grown;
             }
+            float x = child.getRight();
+            lines[count++] = x;
+            lines[count++] = child.getTop() + inset;
+            lines[count++] = x;
+            lines[count++] = child.getBottom() - inset;
+        }
+
+        if (count > 0) {
+            canvas.drawLines(lines, 0, count, paint);
         }
     }
 
@@ -0,0 +1,25 @@
+package com.sahana.horizontalcalendar;
+
+/**
+ * Counts full and payload-only binds through the public metrics callback, so tests can
+ * hold the bind path to a budget without counters in the library.
+ */
+final class BindCounter implements HorizontalCalendarMetrics {
+
+    int fullBinds;
+    int payloadBinds;
+
+    @Override
+    public void onViewHolderBound(long durationNanos, boolean payloadOnly) {
+        if (payloadOnly) {
+            payloadBinds++;
+        } else {
+            fullBinds++;
+        }
+    }
+
+    void reset() {
+        fullBinds = 0;
+        payloadBinds = 0;
+    }
+}
@@ -0,0 +1,150 @@
+package com.sahana.horizontalcalendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Checks the built-in {@link CalendarChronology}s against reference dates, and that their
+ * month tables agree with {@link CalendarChronology#epochDayOf} across block boundaries.
+ */
+public class CalendarChronologyTest {
+
+    /**
+     * Gregorian date (year, month from 1, day), then the expected year, month from 1 and day.
+     */
+    private static final int[][] HIJRI_DATES = {
+            {622, 7, 19, 1, 1, 1},          // Epoch, 16 July 622 Julian
+            {1970, 1, 1, 1389, 10, 22},
+            {2000, 1, 1, 1420, 9, 24},
+            {2023, 7, 19, 1445, 1, 1},
+            {2024, 3, 20, 1445, 9, 10},
+            {2024, 7, 7, 1445, 12, 30},     // Leap year
+            {2025, 3, 1, 1446, 9, 1},
+            {2025, 6, 26, 1446, 12, 29},
+            {2026, 10, 16, 1448, 5, 4},
+    };
+
+    private static final int[][] PERSIAN_DATES = {
+            {622, 3, 22, 1, 1, 2},
+            {1970, 1, 1, 1348, 10, 11},
+            {1979, 2, 11, 1357, 11, 22},
+            {2000, 1, 1, 1378, 10, 11},
+            {2021, 3, 20, 1399, 12, 30},    // Leap year
+            {2021, 3, 21, 1400, 1, 1},
+            {2024, 3, 20, 1403, 1, 1},
+            {2025, 3, 20, 1403, 12, 30},    // Leap year
+            {2025, 3, 21, 1404, 1, 1},
+            {2026, 10, 16, 1405, 7, 24},
+    };
+
+    /** Gregorian date, then the expected era (1 = Meiji) and year of era. */
+    private static final int[][] JAPANESE_DATES = {
+            {1868, 10, 22, 0, 1868},
+            {1868, 10, 23, 1, 1},
+            {1912, 7, 29, 1, 45},
+            {1912, 7, 30, 2, 1},
+            {1926, 12, 25, 3, 1},
+            {1989, 1, 7, 3, 64},
+            {1989, 1, 8, 4, 1},
+            {2019, 4, 30, 4, 31},
+            {2019, 5, 1, 5, 1},
+            {2026, 10, 16, 5, 8},
+    };
+
+    @Test
+    public void hijri_matchesReferenceDates() {
+        assertDates(CalendarChronology.HIJRI, HIJRI_DATES);
+    }
+
+    @Test
+    public void persian_matchesReferenceDates() {
+        assertDates(CalendarChronology.PERSIAN, PERSIAN_DATES);
+    }
+
+    @Test
+    public void gregorian_matchesEpochDays() {
+        CalendarChronology chronology = CalendarChronology.GREGORIAN;
+        for (long day = HorizontalCalendarAdapter.MIN_SUPPORTED_EPOCH_DAY;
+             day <= HorizontalCalendarAdapter.MAX_SUPPORTED_EPOCH_DAY; day += 997) {
+            assertEquals(EpochDays.year(day), chronology.getYear(day));
+            assertEquals(EpochDays.month(day), chronology.getMonth(day));
+            assertEquals(EpochDays.dayOfMonth(day), chronology.getDayOfMonth(day));
+        }
+    }
+
+    @Test
+    public void japanese_matchesReferenceEras() {
+        CalendarChronology chronology = CalendarChronology.JAPANESE;
+        for (int[] row : JAPANESE_DATES) {
+            long day = EpochDays.of(row[0], row[1] - 1, row[2]);
+            String date = row[0] + "-" + row[1] + "-" + row[2];
+            assertEquals(date, row[3], chronology.getEra(day));
+            assertEquals(date, row[4], chronology.getYearOfEra(day));
+            assertEquals(date, row[1] - 1, chronology.getMonth(day));
+            assertEquals(date, row[2], chronology.getDayOfMonth(day));
+        }
+        assertEquals("Reiwa", chronology.getEraName(5, Locale.ENGLISH));
+        assertEquals("令和", chronology.getEraName(5, Locale.JAPANESE));
+        assertNull(chronology.getEraName(0, Locale.ENGLISH));
+    }
+
+    @Test
+    public void monthTables_roundTripAcrossBlocks() {
+        CalendarChronology[] chronologies = {
+                CalendarChronology.GREGORIAN, CalendarChronology.HIJRI,
+                CalendarChronology.PERSIAN, CalendarChronology.JAPANESE
+        };
+        long from = EpochDays.of(1900, Calendar.JANUARY, 1);
+        long to = EpochDays.of(2100, Calendar.JANUARY, 1);
+        for (CalendarChronology chronology : chronologies) {
+            for (long day = from; day < to; day++) {
+                int year = chronology.getYear(day);
+                int month = chronology.getMonth(day);
+                int dayOfMonth = chronology.getDayOfMonth(day);
+                assertEquals(chronology + " " + day, day, chronology.epochDayOf(year, month, dayOfMonth));
+            }
+        }
+    }
+
+    @Test
+    public void monthLengths_followLeapYears() {
+        assertEquals(30, CalendarChronology.HIJRI.getMonthLength(1445, 11));
+        assertEquals(29, CalendarChronology.HIJRI.getMonthLength(1446, 11));
+        assertEquals(30, CalendarChronology.PERSIAN.getMonthLength(1403, 11));
+        assertEquals(29, CalendarChronology.PERSIAN.getMonthLength(1404, 11));
+        assertEquals(31, CalendarChronology.PERSIAN.getMonthLength(1404, 0));
+        assertEquals(29, CalendarChronology.GREGORIAN.getMonthLength(2024, Calendar.FEBRUARY));
+    }
+
+    @Test
+    public void weeks_endOnChronologysLastDay() {
+        assertEquals(Calendar.SUNDAY, CalendarChronology.GREGORIAN.getLastDayOfWeek(true));
+        assertEquals(Calendar.SATURDAY, CalendarChronology.GREGORIAN.getLastDayOfWeek(false));
+        assertEquals(Calendar.SATURDAY, CalendarChronology.JAPANESE.getLastDayOfWeek(false));
+        assertEquals(Calendar.FRIDAY, CalendarChronology.PERSIAN.getLastDayOfWeek(true));
+        assertEquals(Calendar.FRIDAY, CalendarChronology.HIJRI.getLastDayOfWeek(false));
+    }
+
+    @Test
+    public void labels_useChronologyMonthNames() {
+        assertEquals("Farvardin", LocaleLabelCache.get(Locale.ENGLISH, CalendarChronology.PERSIAN).months[0]);
+        assertEquals("Ramadan", LocaleLabelCache.get(Locale.ENGLISH, CalendarChronology.HIJRI).standaloneMonths[8]);
+        assertEquals("January", LocaleLabelCache.get(Locale.ENGLISH, CalendarChronology.JAPANESE).months[0]);
+    }
+
+    private static void assertDates(CalendarChronology chronology, int[][] dates) {
+        for (int[] row : dates) {
+            long day = EpochDays.of(row[0], row[1] - 1, row[2]);
+            String date = row[0] + "-" + row[1] + "-" + row[2];
+            assertEquals(date, row[3], chronology.getYear(day));
+            assertEquals(date, row[4] - 1, chronology.getMonth(day));
+            assertEquals(date, row[5], chronology.getDayOfMonth(day));
+            assertEquals(date, day, chronology.epochDayOf(row[3], row[4] - 1, row[5]));
+        }
+    }
+}
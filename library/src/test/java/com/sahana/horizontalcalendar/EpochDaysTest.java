@@ -0,0 +1,74 @@
+package com.sahana.horizontalcalendar;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Checks that {@link EpochDays} converts to and from {@link Calendar} in the proleptic
+ * Gregorian calendar its arithmetic uses, also across the Julian cutover and for
+ * non-Gregorian default calendars.
+ */
+public class EpochDaysTest {
+
+    @Test
+    public void roundTrip_aroundGregorianCutoverAndYearOne() {
+        long[] starts = {
+                EpochDays.of(1582, Calendar.SEPTEMBER, 20),
+                EpochDays.of(1, Calendar.JANUARY, 1) - 20,
+                EpochDays.of(9999, Calendar.DECEMBER, 1),
+        };
+        for (long start : starts) {
+            for (long epochDay = start; epochDay < start + 60; epochDay++) {
+                assertEquals(epochDay, EpochDays.fromCalendar(EpochDays.toCalendar(epochDay)));
+            }
+        }
+    }
+
+    @Test
+    public void toCalendar_fieldsAreProlepticGregorian() {
+        // Falls in the ten days the Julian cutover skips
+        Calendar calendar = EpochDays.toCalendar(EpochDays.of(1582, Calendar.OCTOBER, 10));
+        assertFields(calendar, GregorianCalendar.AD, 1582, Calendar.OCTOBER, 10);
+
+        calendar = EpochDays.toCalendar(EpochDays.of(1, Calendar.JANUARY, 1));
+        assertFields(calendar, GregorianCalendar.AD, 1, Calendar.JANUARY, 1);
+
+        // Proleptic year 0 is 1 BC
+        calendar = EpochDays.toCalendar(EpochDays.of(0, Calendar.DECEMBER, 31));
+        assertFields(calendar, GregorianCalendar.BC, 1, Calendar.DECEMBER, 31);
+    }
+
+    @Test
+    public void fromCalendar_readsJulianDatesAsTheSameInstant() {
+        GregorianCalendar julian = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        julian.clear();
+        // The day before the cutover, 14 October 1582 in the proleptic Gregorian calendar
+        julian.set(1582, Calendar.OCTOBER, 4);
+        assertEquals(EpochDays.of(1582, Calendar.OCTOBER, 14), EpochDays.fromCalendar(julian));
+
+        julian.clear();
+        julian.set(1582, Calendar.OCTOBER, 15);
+        assertEquals(EpochDays.of(1582, Calendar.OCTOBER, 15), EpochDays.fromCalendar(julian));
+    }
+
+    @Test
+    public void fromCalendar_readsBuddhistCalendarAsGregorianDate() {
+        Calendar buddhist = Calendar.getInstance(TimeZone.getTimeZone("UTC"), new Locale("th", "TH"));
+        buddhist.setTimeInMillis(EpochDays.of(2025, Calendar.MAY, 5) * 86_400_000L);
+
+        assertEquals(EpochDays.of(2025, Calendar.MAY, 5), EpochDays.fromCalendar(buddhist));
+    }
+
+    private static void assertFields(Calendar calendar, int era, int year, int month, int dayOfMonth) {
+        assertEquals(era, calendar.get(Calendar.ERA));
+        assertEquals(year, calendar.get(Calendar.YEAR));
+        assertEquals(month, calendar.get(Calendar.MONTH));
+        assertEquals(dayOfMonth, calendar.get(Calendar.DAY_OF_MONTH));
+    }
+}
@@ -0,0 +1,161 @@
+package com.sahana.horizontalcalendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.Calendar;
+
+/**
+ * Scrolls rows of {@link HorizontalCalendar}s joined in a {@link HorizontalCalendarGroup} and
+ * checks that they stay aligned, that only one header is shown and that each settled day is
+ * reported once for the whole group.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class HorizontalCalendarGroupTest {
+
+    private static final int ROWS = 4;
+
+    private final HorizontalCalendar[] calendars = new HorizontalCalendar[ROWS];
+    private final RecyclerView[] recyclerViews = new RecyclerView[ROWS];
+    private HorizontalCalendarGroup group;
+
+    private final long[] reported = new long[8];
+    private int reportedCount;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        LinearLayout rows = new LinearLayout(activity);
+        rows.setOrientation(LinearLayout.VERTICAL);
+        activity.setContentView(rows, new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        group = new HorizontalCalendarGroup();
+        for (int i = 0; i < ROWS; i++) {
+            calendars[i] = new HorizontalCalendar(activity);
+            rows.addView(calendars[i], new LinearLayout.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            recyclerViews[i] = calendars[i].findViewById(R.id.recyclerView);
+            calendars[i].setInitialDate(date(2025, Calendar.MAY, 5));
+        }
+        settle();
+        for (HorizontalCalendar calendar : calendars) {
+            group.add(calendar);
+        }
+        group.setOnDaySelectedListener(day -> reported[reportedCount++] = day);
+    }
+
+    @Test
+    public void onlyFirstMemberShowsHeader() {
+        assertEquals(View.VISIBLE, header(0).getVisibility());
+        for (int i = 1; i < ROWS; i++) {
+            assertEquals(View.GONE, header(i).getVisibility());
+        }
+
+        group.remove(calendars[0]);
+
+        assertEquals(View.VISIBLE, header(0).getVisibility());
+        assertEquals(View.VISIBLE, header(1).getVisibility());
+    }
+
+    @Test
+    public void dragFrames_moveAllRowsInStep() {
+        int dx = recyclerViews[0].getChildAt(0).getWidth() / 3;
+        for (int frame = 0; frame < 40; frame++) {
+            recyclerViews[0].scrollBy(dx, 0);
+            for (int i = 1; i < ROWS; i++) {
+                assertEquals("row " + i + " frame " + frame,
+                        firstChildLeft(0), firstChildLeft(i));
+            }
+        }
+    }
+
+    @Test
+    public void fling_settlesAllRowsAndReportsOnce() {
+        long dayBefore = selectedDay(0);
+
+        recyclerViews[0].fling(6000, 0);
+        settle();
+
+        long day = selectedDay(0);
+        assertTrue("fling did not move the calendar", day > dayBefore);
+        for (int i = 1; i < ROWS; i++) {
+            assertEquals("row " + i, day, selectedDay(i));
+        }
+        assertEquals("events", 1, reportedCount);
+        assertEquals(day, reported[0]);
+    }
+
+    @Test
+    public void scrollCallOnFollower_makesItDrive() {
+        Calendar target = date(2025, Calendar.OCTOBER, 20);
+
+        calendars[2].scrollToDateSmooth(target);
+        settle();
+
+        for (int i = 0; i < ROWS; i++) {
+            assertEquals("row " + i, HorizontalCalendar.epochDayOf(target), selectedDay(i));
+        }
+        assertEquals("events", 1, reportedCount);
+    }
+
+    private static Calendar date(int year, int month, int dayOfMonth) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth);
+        return calendar;
+    }
+
+    /** Runs frames until pending posts, layouts and scrolls of all rows are done. */
+    private void settle() {
+        for (int frame = 0; frame < 600; frame++) {
+            shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(16));
+            if (frame > 2 && allIdle()) return;
+        }
+    }
+
+    private boolean allIdle() {
+        for (RecyclerView recyclerView : recyclerViews) {
+            if (recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE
+                    || recyclerView.isLayoutRequested()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private View header(int row) {
+        return calendars[row].findViewById(R.id.text_month_year);
+    }
+
+    private long selectedDay(int row) {
+        return HorizontalCalendar.epochDayOf(calendars[row].getSelectedDate());
+    }
+
+    /** Returns the day and left edge of the first cell, so equal values mean equal scroll. */
+    private String firstChildLeft(int row) {
+        RecyclerView recyclerView = recyclerViews[row];
+        View first = recyclerView.getChildAt(0);
+        int position = recyclerView.getChildAdapterPosition(first);
+        HorizontalCalendarAdapter adapter = (HorizontalCalendarAdapter) recyclerView.getAdapter();
+        return adapter.getEpochDayAt(position) + "@" + first.getLeft();
+    }
+}
@@ -0,0 +1,308 @@
+package com.sahana.horizontalcalendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Calendar;
+
+/**
+ * Drives a {@link HorizontalCalendar} through jumps, smooth scrolls, flings and frame-by-frame
+ * drags on the JVM and holds the hot paths to budgets: binds per scrolled distance, header
+ * layout requests, and bytes allocated per frame and per rebind.
+ * <p>
+ * Bind counts allow a few spare binds so they survive framework and Robolectric changes, and
+ * allocations are compared with a baseline measured in the same test, so framework, shadow
+ * and JIT allocations cancel out; they are meant to catch
+ * regressions such as rebinding the whole window, formatting dates per bind or
+ * relayouting the header on every frame.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class HorizontalCalendarScrollTest {
+
+    /** Extra binds allowed on top of the cells that scroll into view (prefetch, snapping). */
+    private static final int SPARE_BINDS = 4;
+
+    /**
+     * Bytes a scroll frame binding one new cell may allocate on top of a frame that binds
+     * nothing, measured in the same test; a single formatter or {@code DateFormatSymbols}
+     * per bind exceeds it.
+     */
+    private static final long BIND_ALLOCATION_MARGIN = 256;
+
+    /**
+     * Bytes a rebind of an unchanged cell may allocate on average on top of the view calls
+     * it makes, measured in the same test.
+     */
+    private static final long REBIND_ALLOCATION_MARGIN = 16;
+
+    private HorizontalCalendar calendar;
+    private RecyclerView recyclerView;
+    private MonthYearHeaderView header;
+    private HorizontalCalendarAdapter adapter;
+    private final BindCounter binds = new BindCounter();
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        calendar = new HorizontalCalendar(activity);
+        activity.setContentView(calendar, new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        recyclerView = calendar.findViewById(R.id.recyclerView);
+        header = calendar.findViewById(R.id.text_month_year);
+        calendar.setMetrics(binds);
+
+        calendar.setInitialDate(date(2025, Calendar.MAY, 5));
+        adapter = (HorizontalCalendarAdapter) recyclerView.getAdapter();
+        settle();
+        resetCounters();
+    }
+
+    @Test
+    public void scrollToDateInstant_bindsAtMostTwoScreens() {
+        Calendar target = date(2025, Calendar.OCTOBER, 20);
+
+        calendar.scrollToDateInstant(target);
+        settle();
+
+        assertSelected(target);
+        assertBindsAtMost(2 * visibleCells() + SPARE_BINDS);
+    }
+
+    @Test
+    public void scrollToDateSmooth_bindsProportionalToDistance() {
+        int days = 30;
+        Calendar target = date(2025, Calendar.JUNE, 4);
+
+        calendar.scrollToDateSmooth(target);
+        settle();
+
+        assertSelected(target);
+        assertBindsAtMost(days + visibleCells() + SPARE_BINDS);
+    }
+
+    @Test
+    public void scrollToDateSmooth_farTargetCostsAboutAsMuchAsNextWeek() {
+        Calendar target = date(2025, Calendar.OCTOBER, 20);
+
+        calendar.scrollToDateSmooth(target);
+        settle();
+
+        assertSelected(target);
+        // One screen after the jump plus the animated last days
+        assertBindsAtMost(HorizontalCalendar.DEFAULT_SMOOTH_SCROLL_JUMP_DAYS + 2 * visibleCells() + SPARE_BINDS);
+    }
+
+    @Test
+    public void fling_bindsProportionalToDistance() {
+        long dayBefore = HorizontalCalendar.epochDayOf(calendar.getSelectedDate());
+
+        recyclerView.fling(6000, 0);
+        settle();
+
+        long travelled = HorizontalCalendar.epochDayOf(calendar.getSelectedDate()) - dayBefore;
+        assertTrue("fling did not move the calendar", travelled > 0);
+        assertBindsAtMost((int) travelled + visibleCells() + SPARE_BINDS);
+    }
+
+    @Test
+    public void setInitialDate_keepsAdapterAndBindsAtMostThreeScreens() {
+        Calendar target = date(2025, Calendar.JUNE, 1);
+
+        calendar.setInitialDate(target);
+        settle();
+
+        assertSame(adapter, recyclerView.getAdapter());
+        assertSelected(target);
+        // One rebind for the moved window, then up to two screens for the jump
+        assertBindsAtMost(3 * visibleCells() + SPARE_BINDS);
+    }
+
+    @Test
+    public void selectionChange_rebindsTwoCellsWithPayloadOnly() {
+        int center = adapter.getPositionForEpochDay(HorizontalCalendar.epochDayOf(calendar.getSelectedDate()));
+
+        adapter.setSelectedPosition(center + 1);
+        settle();
+
+        assertEquals("full binds", 0, binds.fullBinds);
+        assertTrue("payload binds: " + binds.payloadBinds, binds.payloadBinds <= 2);
+    }
+
+    @Test
+    public void tappingDay_reportsSelectionOnce() {
+        long[] reported = new long[8];
+        int[] count = new int[1];
+        calendar.setOnDaySelectedListener(day -> reported[count[0]++] = day);
+        int center = adapter.getPositionForEpochDay(HorizontalCalendar.epochDayOf(calendar.getSelectedDate()));
+        RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(center + 2);
+
+        holder.itemView.performClick();
+        settle();
+
+        assertEquals("events", 1, count[0]);
+        assertEquals(adapter.getEpochDayAt(center + 2), reported[0]);
+    }
+
+    @Test
+    public void header_neverRequestsLayoutWhileScrolling() {
+        String before = header.getText().toString();
+
+        // About two months of days at one frame per step; scrollBy runs no layout pass, so
+        // a layout request on the header stays visible until the frame is checked
+        int cellWidth = recyclerView.getChildAt(0).getWidth();
+        int framesWithLayoutRequest = 0;
+        for (int frame = 0; frame < 120; frame++) {
+            recyclerView.scrollBy(cellWidth / 2, 0);
+            if (header.isLayoutRequested()) {
+                framesWithLayoutRequest++;
+            }
+        }
+        settle();
+
+        assertTrue("header did not change", !before.contentEquals(header.getText()));
+        assertEquals("frames with a header layout request", 0, framesWithLayoutRequest);
+    }
+
+    @Test
+    public void scrollFrames_bindingNewCellsAllocateLittleMoreThanIdleFrames() {
+        assumeAllocationCounting();
+        // One cell per frame, so every measured frame binds a new day
+        int dx = recyclerView.getChildAt(0).getWidth();
+
+        // Warm up caches, holders and the label tables; all loops stay within the window
+        for (int frame = 0; frame < 50; frame++) {
+            recyclerView.scrollBy(dx, 0);
+            recyclerView.scrollBy(1, 0);
+            recyclerView.scrollBy(-1, 0);
+        }
+
+        // Baseline: frames that move the cells within one cell width and bind nothing
+        int frames = 100;
+        long start = allocatedBytes();
+        for (int frame = 0; frame < frames; frame++) {
+            recyclerView.scrollBy(frame % 2 == 0 ? 1 : -1, 0);
+        }
+        long idlePerFrame = (allocatedBytes() - start) / frames;
+
+        int firstBefore = recyclerView.getChildAdapterPosition(recyclerView.getChildAt(0));
+        start = allocatedBytes();
+        for (int frame = 0; frame < frames; frame++) {
+            recyclerView.scrollBy(dx, 0);
+        }
+        long bindingPerFrame = (allocatedBytes() - start) / frames;
+        int firstAfter = recyclerView.getChildAdapterPosition(recyclerView.getChildAt(0));
+
+        assertEquals("cells scrolled", frames, firstAfter - firstBefore);
+        long perBind = bindingPerFrame - idlePerFrame;
+        assertTrue("bytes per bound cell: " + perBind + " (frame " + bindingPerFrame
+                + ", idle frame " + idlePerFrame + ")", perBind <= BIND_ALLOCATION_MARGIN);
+    }
+
+    @Test
+    public void rebindingUnchangedCell_allocatesNothingBeyondItsViewCalls() {
+        assumeAllocationCounting();
+        RecyclerView.ViewHolder holder = recyclerView.getChildViewHolder(recyclerView.getChildAt(0));
+        HorizontalCalendarAdapter.DateViewHolder dateHolder = (HorizontalCalendarAdapter.DateViewHolder) holder;
+        int position = holder.getBindingAdapterPosition();
+
+        for (int i = 0; i < 1_000; i++) {
+            adapter.onBindViewHolder(dateHolder, position);
+            setSameViewState(dateHolder);
+        }
+
+        // Baseline: the view state setters a rebind calls, with unchanged values
+        int binds = 10_000;
+        long start = allocatedBytes();
+        for (int i = 0; i < binds; i++) {
+            setSameViewState(dateHolder);
+        }
+        long baselinePerBind = (allocatedBytes() - start) / binds;
+
+        start = allocatedBytes();
+        for (int i = 0; i < binds; i++) {
+            adapter.onBindViewHolder(dateHolder, position);
+        }
+        long perBind = (allocatedBytes() - start) / binds - baselinePerBind;
+
+        assertTrue("bytes per rebind: " + perBind + " above a baseline of " + baselinePerBind,
+                perBind <= REBIND_ALLOCATION_MARGIN);
+    }
+
+    private static void setSameViewState(RecyclerView.ViewHolder holder) {
+        View view = holder.itemView;
+        view.setSelected(view.isSelected());
+        view.setActivated(view.isActivated());
+        view.setEnabled(view.isEnabled());
+        view.setAlpha(view.getAlpha());
+    }
+
+    private static Calendar date(int year, int month, int dayOfMonth) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth);
+        return calendar;
+    }
+
+    /** Runs frames until pending posts, layouts and scrolls are done. */
+    private void settle() {
+        for (int frame = 0; frame < 600; frame++) {
+            shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(16));
+            if (frame > 2
+                    && recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE
+                    && !recyclerView.isLayoutRequested()) {
+                return;
+            }
+        }
+    }
+
+    private void resetCounters() {
+        binds.reset();
+    }
+
+    private int visibleCells() {
+        return recyclerView.getChildCount();
+    }
+
+    private void assertSelected(Calendar expected) {
+        assertEquals(HorizontalCalendar.epochDayOf(expected),
+                HorizontalCalendar.epochDayOf(calendar.getSelectedDate()));
+    }
+
+    private void assertBindsAtMost(int budget) {
+        assertTrue("full binds " + binds.fullBinds + " > budget " + budget,
+                binds.fullBinds <= budget);
+    }
+
+    private static void assumeAllocationCounting() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .isThreadAllocatedMemorySupported());
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,184 @@
+package com.sahana.horizontalcalendar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.util.SparseArray;
+import android.view.ViewGroup;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.Calendar;
+
+/**
+ * Measures how fast a {@link HorizontalCalendar} shows the right day: on cold start and
+ * after a configuration change. The first laid-out frame must already be centered on the
+ * target day, with no second layout pass rebinding the window.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class HorizontalCalendarStartupTest {
+
+    /** Frames after which the calendar must show the target day centered. */
+    private static final int FIRST_CORRECT_FRAME_BUDGET = 1;
+
+    /** Extra binds allowed on top of the cells on screen. */
+    private static final int SPARE_BINDS = 4;
+
+    private static final int CALENDAR_ID = 0x7f0a0001;
+
+    @Test
+    public void coldStart_firstFrameIsCenteredOnInitialDate() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Calendar target = date(2025, Calendar.MAY, 5);
+
+        long start = System.nanoTime();
+        HorizontalCalendar calendar = show(activity);
+        BindCounter binds = new BindCounter();
+        calendar.setMetrics(binds);
+        calendar.setInitialDate(target);
+        int frames = framesUntilCentered(calendar, target);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        assertTrue("cold start: first correct frame after " + frames + " frame(s), "
+                + elapsedMicros + " us", frames <= FIRST_CORRECT_FRAME_BUDGET);
+        assertBindsAtMostOneScreen(calendar, binds);
+    }
+
+    @Test
+    public void restore_firstFrameIsCenteredOnSavedDayAndKeepsRangeAndSelection() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        HorizontalCalendar calendar = show(activity);
+        calendar.setUnboundedRange(true);
+        calendar.setInitialDate(date(2025, Calendar.MAY, 5));
+        frames(3);
+
+        Calendar selected = date(2026, Calendar.FEBRUARY, 14);
+        calendar.scrollToDateInstant(selected);
+        calendar.setSelectionMode(HorizontalCalendar.SELECTION_MODE_MULTIPLE);
+        long firstChecked = HorizontalCalendar.epochDayOf(date(2026, Calendar.FEBRUARY, 10));
+        calendar.setDaysSelected(firstChecked, firstChecked + 3, true);
+        frames(3);
+
+        SparseArray<Parcelable> container = new SparseArray<>();
+        calendar.saveHierarchyState(container);
+        parcelRoundTrip(container);
+
+        // A new activity, set up as the app's onCreate would before the state is restored
+        Activity recreated = Robolectric.buildActivity(Activity.class).setup().get();
+        long start = System.nanoTime();
+        HorizontalCalendar restored = show(recreated);
+        BindCounter binds = new BindCounter();
+        restored.setMetrics(binds);
+        restored.setInitialDate(date(2025, Calendar.MAY, 5));
+        restored.restoreHierarchyState(container);
+        int frames = framesUntilCentered(restored, selected);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        assertTrue("restore: first correct frame after " + frames + " frame(s), "
+                + elapsedMicros + " us", frames <= FIRST_CORRECT_FRAME_BUDGET);
+        assertEquals(HorizontalCalendar.epochDayOf(selected),
+                HorizontalCalendar.epochDayOf(restored.getSelectedDate()));
+        assertEquals(HorizontalCalendar.SELECTION_MODE_MULTIPLE, restored.getSelectionMode());
+        assertArrayEquals(new long[]{firstChecked, firstChecked + 3}, restored.getSelectedRanges());
+        assertBindsAtMostOneScreen(restored, binds);
+    }
+
+    @Test
+    public void listenerSetAfterInitialDate_receivesInitialDayOnce() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Calendar target = date(2025, Calendar.MAY, 5);
+        HorizontalCalendar calendar = show(activity);
+        calendar.setInitialDate(target);
+
+        long[] reported = new long[4];
+        int[] count = new int[1];
+        calendar.setOnDaySelectedListener(day -> reported[count[0]++] = day);
+        frames(3);
+
+        assertEquals("events", 1, count[0]);
+        assertEquals(HorizontalCalendar.epochDayOf(target), reported[0]);
+    }
+
+    private static HorizontalCalendar show(Activity activity) {
+        HorizontalCalendar calendar = new HorizontalCalendar(activity);
+        calendar.setId(CALENDAR_ID);
+        activity.setContentView(calendar, new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        return calendar;
+    }
+
+    /**
+     * Runs frames until the target day is laid out exactly in the center.
+     *
+     * @return number of frames run
+     */
+    private static int framesUntilCentered(HorizontalCalendar calendar, Calendar target) {
+        RecyclerView recyclerView = calendar.findViewById(R.id.recyclerView);
+        for (int frame = 0; frame < 60; frame++) {
+            if (isCentered(recyclerView, HorizontalCalendar.epochDayOf(target))) return frame;
+            frames(1);
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static boolean isCentered(RecyclerView recyclerView, long epochDay) {
+        if (recyclerView.getChildCount() == 0 || recyclerView.isLayoutRequested()) return false;
+        HorizontalCalendarAdapter adapter = (HorizontalCalendarAdapter) recyclerView.getAdapter();
+        FixedWidthLayoutManager layoutManager = (FixedWidthLayoutManager) recyclerView.getLayoutManager();
+        int position = adapter.getPositionForEpochDay(epochDay);
+        return layoutManager.findCenterPosition() == position
+                && layoutManager.getDistanceToCenter(position) == 0;
+    }
+
+    private static void assertBindsAtMostOneScreen(HorizontalCalendar calendar, BindCounter binds) {
+        RecyclerView recyclerView = calendar.findViewById(R.id.recyclerView);
+        int budget = recyclerView.getChildCount() + SPARE_BINDS;
+        assertTrue("full binds " + binds.fullBinds + " > budget " + budget,
+                binds.fullBinds <= budget);
+    }
+
+    /** Writes the saved states to a parcel and back, as the system does across processes. */
+    @SuppressWarnings("unchecked")
+    private static void parcelRoundTrip(SparseArray<Parcelable> container) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeSparseArray((SparseArray<Object>) (SparseArray<?>) container);
+            parcel.setDataPosition(0);
+            SparseArray<Parcelable> copy = parcel.readSparseArray(
+                    HorizontalCalendarStartupTest.class.getClassLoader());
+            container.clear();
+            for (int i = 0; i < copy.size(); i++) {
+                container.put(copy.keyAt(i), copy.valueAt(i));
+            }
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static void frames(int count) {
+        for (int frame = 0; frame < count; frame++) {
+            shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(16));
+        }
+    }
+
+    private static Calendar date(int year, int month, int dayOfMonth) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth);
+        return calendar;
+    }
+}
@@ -0,0 +1,205 @@
+package com.sahana.horizontalcalendar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Checks {@link RecurrenceRule} against hand-computed occurrences, and that the months
+ * {@link RecurrenceMarkers} caches follow rule changes and eviction.
+ */
+public class RecurrenceRuleTest {
+
+    private static final long START = EpochDays.of(2025, Calendar.JANUARY, 1);   // A Wednesday
+
+    /** Rule, then its occurrences in January to March 2025 as "month/day" strings. */
+    private static final String[][] RULES = {
+            {"FREQ=MONTHLY;BYMONTHDAY=15,-1", "1/15 1/31 2/15 2/28 3/15 3/31"},
+            {"FREQ=MONTHLY;BYDAY=-1FR", "1/31 2/28 3/28"},
+            {"FREQ=MONTHLY;BYDAY=1MO,3MO", "1/6 1/20 2/3 2/17 3/3 3/17"},
+            {"FREQ=MONTHLY;INTERVAL=2", "1/1 3/1"},
+            {"FREQ=MONTHLY;BYDAY=FR;BYMONTHDAY=13", ""},
+            {"FREQ=WEEKLY;INTERVAL=4;BYDAY=MO", "1/27 2/24 3/24"},
+            {"FREQ=WEEKLY;UNTIL=20250115", "1/1 1/8 1/15"},
+            {"FREQ=YEARLY;BYMONTH=2;BYDAY=2SU", "2/9"},
+            {"FREQ=YEARLY;BYMONTHDAY=1", "1/1 2/1 3/1"},
+            {"FREQ=YEARLY;BYDAY=MO", "1/6 1/13 1/20 1/27 2/3 2/10 2/17 2/24 3/3 3/10 3/17 3/24 3/31"},
+            {"FREQ=YEARLY", "1/1"},
+            {"RRULE:FREQ=DAILY;INTERVAL=20;BYMONTH=1,3", "1/1 1/21 3/2 3/22"},
+    };
+
+    @Test
+    public void rules_matchReferenceOccurrences() {
+        long last = EpochDays.of(2025, Calendar.MARCH, 31);
+        for (String[] row : RULES) {
+            RecurrenceRule rule = RecurrenceRule.parse(row[0], START);
+            StringBuilder actual = new StringBuilder();
+            for (long day = START; day <= last; day++) {
+                if (!rule.occursOn(day)) continue;
+                if (actual.length() > 0) actual.append(' ');
+                actual.append(EpochDays.month(day) + 1).append('/').append(EpochDays.dayOfMonth(day));
+            }
+            assertEquals(row[0], row[1], actual.toString());
+        }
+    }
+
+    @Test
+    public void everyThirdDay_continuesAcrossYears() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3", START);
+        long far = START + 3 * 10_000;
+        assertTrue(rule.occursOn(far));
+        assertTrue(!rule.occursOn(far + 1) && !rule.occursOn(far - 1));
+        assertTrue(!rule.occursOn(START - 3));
+    }
+
+    @Test
+    public void mergeMonth_unboundedRuleBefore1970_staysWithinMonth() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY", EpochDays.of(1960, Calendar.JANUARY, 1));
+        for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+            assertMergeMatchesOccursOn(rule, 1969, month);
+        }
+        assertMergeMatchesOccursOn(rule, 1960, Calendar.FEBRUARY);
+    }
+
+    @Test
+    public void mergeMonth_ruleWithUntil_stopsOnUntilDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;UNTIL=19690310",
+                EpochDays.of(1969, Calendar.FEBRUARY, 20));
+        assertMergeMatchesOccursOn(rule, 1969, Calendar.FEBRUARY);
+        assertMergeMatchesOccursOn(rule, 1969, Calendar.MARCH);
+        assertMergeMatchesOccursOn(rule, 1969, Calendar.APRIL);
+
+        int[] march = mergeMonth(rule, 1969, Calendar.MARCH);
+        assertTrue(march[9] != 0);
+        assertEquals(0, march[10]);
+    }
+
+    @Test
+    public void unsupportedOrMalformedRules_areRejected() {
+        String[] invalid = {
+                "FREQ=MONTHLY;COUNT=3",
+                "FREQ=HOURLY",
+                "INTERVAL=2",
+                "FREQ=WEEKLY;BYDAY=2MO",
+                "FREQ=YEARLY;BYDAY=-1FR",
+                "FREQ=MONTHLY;BYMONTHDAY=0",
+                "FREQ=MONTHLY;BYDAY=X",
+                "FREQ=DAILY;INTERVAL=0",
+                "FREQ=DAILY;UNTIL=20250231",
+        };
+        for (String text : invalid) {
+            try {
+                RecurrenceRule.parse(text, START);
+                fail("accepted " + text);
+            } catch (IllegalArgumentException expected) {
+                // Rejected as expected
+            }
+        }
+    }
+
+    @Test
+    public void markers_mergeRulesPerDay() {
+        RecurrenceMarkers markers = new RecurrenceMarkers();
+        markers.add(RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=-1", START), DayMarkers.pack(1, 1));
+        markers.add(RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=-1FR", START), DayMarkers.pack(2, 1));
+
+        long janLast = EpochDays.of(2025, Calendar.JANUARY, 31);
+        long marchLastFriday = EpochDays.of(2025, Calendar.MARCH, 28);
+        assertEquals(DayMarkers.pack(3, 2), markers.get(janLast));
+        assertEquals(DayMarkers.pack(2, 1), markers.get(marchLastFriday));
+        assertEquals(0, markers.get(janLast - 1));
+    }
+
+    @Test
+    public void markers_cachedMonthsFollowRuleChangesAndEviction() {
+        RecurrenceMarkers markers = new RecurrenceMarkers();
+        RecurrenceRule[] rules = new RecurrenceRule[500];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=" + (i + 2), START);
+            markers.add(rules[i], DayMarkers.pack(1, 1));
+        }
+
+        // One screen of days ten years ahead
+        long first = EpochDays.of(2035, Calendar.JUNE, 10);
+        int[] values = read(markers, first, 9);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(occursAny(rules, first + i), values[i] != 0);
+        }
+
+        // Reading the same days again gives the same values
+        assertArrayEquals(values, read(markers, first, values.length));
+
+        // A rule added after the month was read shows up, and is gone again once removed
+        RecurrenceRule daily = RecurrenceRule.parse("FREQ=DAILY", START);
+        markers.add(daily, DayMarkers.pack(2, 1));
+        int[] withDaily = read(markers, first, values.length);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(DayMarkers.merge(values[i], DayMarkers.pack(2, 1)), withDaily[i]);
+        }
+        assertTrue(markers.remove(daily));
+        assertArrayEquals(values, read(markers, first, values.length));
+
+        // Scrolling through a year evicts the month; reading it again recomputes the same values
+        long yearStart = EpochDays.of(2036, Calendar.JANUARY, 1);
+        int yearLength = (int) (EpochDays.of(2037, Calendar.JANUARY, 1) - yearStart);
+        int[] year = read(markers, yearStart, yearLength);
+        for (int i = 0; i < year.length; i++) {
+            assertEquals(occursAny(rules, yearStart + i), year[i] != 0);
+        }
+        assertArrayEquals(values, read(markers, first, values.length));
+    }
+
+    @Test
+    public void markers_matchRuleForEveryDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH", START);
+        RecurrenceMarkers markers = new RecurrenceMarkers();
+        int value = DayMarkers.pack(4, 1);
+        markers.add(rule, value);
+
+        int[] expected = new int[400];
+        int[] actual = new int[400];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = rule.occursOn(START - 20 + i) ? value : 0;
+            actual[i] = markers.get(START - 20 + i);
+        }
+        assertArrayEquals(Arrays.toString(actual), expected, actual);
+    }
+
+    private static int[] read(RecurrenceMarkers markers, long first, int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = markers.get(first + i);
+        }
+        return values;
+    }
+
+    private static boolean occursAny(RecurrenceRule[] rules, long epochDay) {
+        for (RecurrenceRule rule : rules) {
+            if (rule.occursOn(epochDay)) return true;
+        }
+        return false;
+    }
+
+    private static int[] mergeMonth(RecurrenceRule rule, int year, int month) {
+        int[] values = new int[31];
+        rule.mergeMonth(year, month, EpochDays.of(year, month, 1), values,
+                EpochDays.monthLength(year, month), DayMarkers.pack(1, 1));
+        return values;
+    }
+
+    private static void assertMergeMatchesOccursOn(RecurrenceRule rule, int year, int month) {
+        int[] values = mergeMonth(rule, year, month);
+        long firstDay = EpochDays.of(year, month, 1);
+        int length = EpochDays.monthLength(year, month);
+        for (int i = 0; i < values.length; i++) {
+            boolean expected = i < length && rule.occursOn(firstDay + i);
+            assertEquals(year + "/" + (month + 1) + "/" + (i + 1), expected, values[i] != 0);
+        }
+    }
+}